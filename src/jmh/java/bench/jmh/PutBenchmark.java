@@ -0,0 +1,53 @@
+package bench.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hbase.client.Put;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.Utils;
+
+/**
+ * Measures the construction of the {@link Put} written for every row by
+ * {@link Utils#createPut(byte[], byte[])}, from an encoded rowkey and a row value of
+ * varying size
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PutBenchmark {
+
+    /**
+     * The size of the row value, in bytes
+     */
+    @Param({ "64", "1024", "16384" })
+    public int valueSize;
+
+    private byte[] rowKey;
+    private byte[] value;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rowKey = Utils.encodeRowKey(0);
+        value = Utils.generateRowValue(valueSize, Utils.threadRandom());
+    }
+
+    @Benchmark
+    public Put createPut() {
+        return Utils.createPut(rowKey, value);
+    }
+}
@@ -0,0 +1,73 @@
+package bench.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.DataProvider;
+import util.Utils;
+import util.sizes.FixedSizeDistribution;
+
+import com.nearinfinity.honeycomb.hbase.rowkey.DataRowKey;
+import com.nearinfinity.honeycomb.hbase.rowkey.IndexRowKeyBuilder;
+import com.nearinfinity.honeycomb.hbase.rowkey.SortOrder;
+
+/**
+ * Measures the encoding of the rowkeys used by the tests: the {@link DataRowKey} of every
+ * written or read row, the same key padded to the length chosen by a key size
+ * distribution, and the index rowkey of every Honeycomb query
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowKeyBenchmark {
+    private static final long TABLE_ID = 1;
+    private static final long INDEX_ID = 1;
+    private static final int PADDED_KEY_LENGTH = 64;
+
+    /**
+     * The type of rowkey to encode
+     */
+    @Param({ "data", "padded", "index" })
+    public String keyType;
+
+    private IndexRowKeyBuilder indexBuilder;
+    private long row;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DataProvider.KEY_SIZES = keyType.equals("padded") ? new FixedSizeDistribution(PADDED_KEY_LENGTH) : null;
+
+        indexBuilder = IndexRowKeyBuilder.newBuilder(TABLE_ID, INDEX_ID).withSortOrder(SortOrder.Ascending);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DataProvider.KEY_SIZES = null;
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        if( keyType.equals("index") ) {
+            return indexBuilder.withQueryKey(DataProvider.HC_QUERY_KEY, DataProvider.HC_TABLE_SCHEMA).build().encode();
+        }
+
+        // Vary the row so that the encoding can not be hoisted out of the loop
+        return Utils.encodeRowKey(row++);
+    }
+}
@@ -0,0 +1,67 @@
+package bench.jmh;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.FastRandom;
+import util.Utils;
+
+import com.google.common.collect.Maps;
+import com.nearinfinity.honeycomb.mysql.Row;
+
+/**
+ * Measures the serialization of a Honeycomb {@link Row}, as performed for every row
+ * written without a payload pool, for rows of varying width
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowSerializeBenchmark {
+
+    /**
+     * The number of columns in the row
+     */
+    @Param({ "1", "9", "50" })
+    public int columnCount;
+
+    /**
+     * The size of the value of each column, in bytes
+     */
+    @Param({ "8", "64", "1024" })
+    public int valueSize;
+
+    private Map<String, ByteBuffer> columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final FastRandom random = Utils.threadRandom();
+
+        columns = Maps.newHashMap();
+        for(int column = 0; column < columnCount; column++) {
+            columns.put("column" + column, ByteBuffer.wrap(Utils.generateRowValue(valueSize, random)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return new Row(columns, UUID.randomUUID()).serialize();
+    }
+}
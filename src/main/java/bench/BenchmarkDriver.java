@@ -1,8 +1,19 @@
 package bench;
 
+import bench.results.BenchmarkResults;
+import bench.results.ClientMetrics;
+import bench.results.ClusterMetrics;
+import bench.results.IntervalSample;
+import bench.results.LatencySummary;
+import bench.results.ResultsWriter;
+import bench.results.RunResult;
 import bench.tests.*;
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Ints;
 import config.CommandOptions;
 import config.CommandParser;
 import config.Config;
@@ -15,17 +26,29 @@ import org.apache.hadoop.hbase.*;
 import org.apache.hadoop.hbase.client.HBaseAdmin;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.HTableInterface;
-import org.apache.hadoop.hbase.io.encoding.DataBlockEncoding;
-import org.apache.hadoop.hbase.io.hfile.Compression.Algorithm;
-import org.apache.hadoop.hbase.regionserver.StoreFile.BloomType;
+import org.apache.hadoop.hbase.util.RegionSplitter;
 import org.apache.log4j.Logger;
 import util.DataProvider;
 import util.HoneycombQueryGenerator;
+import util.LatencyHistogram;
+import util.PayloadPool;
+import util.QueryKeys;
 import util.Utils;
+import util.memory.FaultInjector;
+import util.memory.InMemoryStore;
+import util.memory.InMemoryTable;
+import util.sizes.SizeDistributions;
+import util.trace.Trace;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.concurrent.CountDownLatch;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
@@ -37,24 +60,49 @@ import static java.lang.String.format;
 public final class BenchmarkDriver {
     private static final Logger log = Logger.getLogger(BenchmarkDriver.class);
 
+    private static final int STEADY_STATE_INTERVAL_MS = 1000;
+    private static final int STEADY_STATE_WINDOW = 5;
+    private static final int SAMPLE_INTERVAL_MS = 1000;
+    private static final int MAX_STEADY_STATE_WAIT_MS = 300000;
+
     private final Configuration config;
     private final Config appConfig;
-    private HTableInterface tableConnection;
+    private final List<HTableInterface> tableConnections = Lists.newArrayList();
+    private final List<Config> workerConfigs = Lists.newArrayList();
 
     private static final ImmutableMap<String, PerformanceTest> TEST_LOOKUP =
             new ImmutableMap.Builder<String, PerformanceTest>()
                 .put(ConfigConstants.ARG_TEST_BATCHWRITE, new BatchWriteTest())
                 .put(ConfigConstants.ARG_TEST_HCWRITE, new HoneycombWriteTest())
+                .put(ConfigConstants.ARG_TEST_HCPARALLELWRITE, new HoneycombParallelWriteTest())
                 .put(ConfigConstants.ARG_TEST_SEQWRITE, new SequentialWriteTest())
                 .put(ConfigConstants.ARG_TEST_GETROW, new GetRowTest())
                 .put(ConfigConstants.ARG_TEST_SEQREAD, new SequentialReadTest())
                 .put(ConfigConstants.ARG_TEST_SCAN, new ScanTest())
                 .put(ConfigConstants.ARG_TEST_RANDSCAN, new RandomScanTest())
                 .put(ConfigConstants.ARG_TEST_HCRANGESCAN, new HoneycombRangeScanTest())
+                .put(ConfigConstants.ARG_TEST_HCRANDOMSCAN, new HoneycombRandomScanTest())
+                .put(ConfigConstants.ARG_TEST_MIXED, new MixedWorkloadTest())
+                .put(ConfigConstants.ARG_TEST_PIPELINEDWRITE, new PipelinedWriteTest())
+                .put(ConfigConstants.ARG_TEST_MULTIGET, new MultiGetTest())
+                .put(ConfigConstants.ARG_TEST_PARALLELSCAN, new ParallelScanTest())
+                .put(ConfigConstants.ARG_TEST_SCANTUNE, new ScanTuneTest())
+                .put(ConfigConstants.ARG_TEST_REPLAY, new ReplayTest())
                 .build();
 
     private static final PerformanceTest NULL_TEST = new NullTest();
 
+    /**
+     * The tests that store their data through Honeycomb instead of the table connections
+     */
+    private static final ImmutableSet<String> HONEYCOMB_TESTS = ImmutableSet.of(ConfigConstants.ARG_TEST_HCWRITE,
+            ConfigConstants.ARG_TEST_HCPARALLELWRITE, ConfigConstants.ARG_TEST_HCRANGESCAN, ConfigConstants.ARG_TEST_HCRANDOMSCAN);
+
+    /**
+     * The tests that start their scans from the generated index keys
+     */
+    private static final ImmutableSet<String> QUERY_KEY_TESTS = ImmutableSet.of(ConfigConstants.ARG_TEST_RANDSCAN);
+
 
     public static void main(final String[] args) {
         final CommandLineParser parser = new PosixParser();
@@ -83,6 +131,28 @@ public final class BenchmarkDriver {
     BenchmarkDriver(final Configuration conf, final Config app) {
         checkNotNull(conf, "The provided Hadoop/HBase configuration is invalid");
         checkNotNull(app, "The provided application configuration is invalid");
+        checkArgument(app.getThreads() > 0, "The number of client threads must be positive");
+        checkArgument(app.getRegions() > 0, "The number of regions must be positive");
+        checkArgument(app.getWriteBatch() > 0, "The write batch size must be positive");
+        checkArgument(app.getWriteWindow() > 0, "The write window must be positive");
+        checkArgument(app.getMultiGetSize() > 0, "The multi-get size must be positive");
+        checkArgument(app.getPayloadPoolSize() > 0, "The payload pool size must be positive");
+        checkArgument(app.getRowKeyCacheSize() >= 0, "The rowkey cache size must not be negative");
+        checkArgument(app.getScanParallelism() > 0, "The scan parallelism must be positive");
+        checkArgument(app.getQueryKeyCount() > 0, "The number of query keys must be positive");
+        checkArgument(app.getReplaySpeed() >= 0, "The replay speed must not be negative");
+        checkArgument(!app.getTestType().equals(ConfigConstants.ARG_TEST_REPLAY) || app.getTraceFile() != null,
+                "The replay test requires a trace file");
+        checkArgument(app.getReportInterval() >= 0, "The report interval must not be negative");
+        checkArgument(app.getTuneCaching().length > 0 && Ints.min(app.getTuneCaching()) > 0, "The tuned scanner caching values must be positive");
+        checkArgument(app.getTuneBatch().length > 0 && Ints.min(app.getTuneBatch()) >= 0, "The tuned scanner batch values must not be negative");
+        checkArgument(!app.getExecType().equals(ConfigConstants.ARG_EXEC_RATE) || app.getTargetOps() > 0,
+                "The rate execution type requires a positive target operation rate");
+        checkArgument(app.getBackend().equals(ConfigConstants.ARG_BACKEND_HBASE) || app.isMemoryBackend(), "Unknown backend: %s", app.getBackend());
+        checkArgument(!app.isMemoryBackend() || !HONEYCOMB_TESTS.contains(app.getTestType()), "The Honeycomb tests require the HBase backend");
+        checkArgument(!app.isMemoryBackend() || !app.isPrepare(), "The bulk load prepare phase requires the HBase backend");
+        checkArgument(app.getMinMemoryLatency() >= 0 && app.getMaxMemoryLatency() >= app.getMinMemoryLatency(),
+                "The injected latency range must not be negative or empty");
 
         config = conf;
         appConfig = app;
@@ -97,8 +167,24 @@ public final class BenchmarkDriver {
     public void setupToolTable() {
         HBaseAdmin admin = null;
 
-        DataProvider.QUERY_KEYS = HoneycombQueryGenerator.generate(appConfig);
         try {
+            DataProvider.KEY_SIZES = SizeDistributions.forKeys(appConfig);
+            DataProvider.ROW_SIZES = SizeDistributions.forRows(appConfig);
+            if( !appConfig.isLegacyPayload() ) {
+                DataProvider.PAYLOAD_POOL = new PayloadPool(appConfig.getPayloadPoolSize(), (int) Math.min(appConfig.getRowCount(), appConfig.getRowKeyCacheSize()), DataProvider.ROW_SIZES);
+            }
+
+            prepareQueryKeys();
+            if( appConfig.getTestType().equals(ConfigConstants.ARG_TEST_REPLAY) ) {
+                DataProvider.TRACE = Trace.load(new File(appConfig.getTraceFile()));
+            }
+
+            if( appConfig.isMemoryBackend() ) {
+                connectToTable();
+                log.info("Using an in-memory table instead of the HBase cluster");
+                return;
+            }
+
             admin = new HBaseAdmin(config);
 
             // If a table delete has been requested, attempt to delete it first
@@ -108,16 +194,98 @@ public final class BenchmarkDriver {
 
             createTable(admin);
             connectToTable();
+            logRegionAssignments();
+
+            if( appConfig.isPrepare() ) {
+                prepareTable();
+            }
         } catch (MasterNotRunningException e) {
             log.error("The HMaster does not appear to be running", e);
         } catch (ZooKeeperConnectionException e) {
             log.error("Unable to connect to ZooKeeper", e);
+        } catch (IOException e) {
+            log.error("Unable to read the size histograms, the query key file or the trace file", e);
         } finally {
             IOUtils.closeQuietly(admin);
         }
     }
 
 
+    /**
+     * Prepares the index keys from which the random scans start, only for the tests that
+     * use them.  The keys are mapped from the query key file when it exists, was generated
+     * for the same tables and index, and holds the requested number of keys, and otherwise
+     * generated and written to the file when one has been given.  A file is never reused
+     * when the table is being deleted, since its keys would refer to the identifiers of the
+     * old tables.
+     *
+     * @throws IOException If the query key file could not be read or written
+     */
+    private void prepareQueryKeys() throws IOException {
+        if( !QUERY_KEY_TESTS.contains(appConfig.getTestType()) ) {
+            log.debug("The test does not use query keys, generation skipped");
+            return;
+        }
+
+        final int count = appConfig.getQueryKeyCount();
+
+        if( appConfig.isMemoryBackend() ) {
+            // Without Honeycomb there are no index keys to query, so the scans start from evenly spaced rows
+            final byte[][] keys = new byte[count][];
+            for(int index = 0; index < count; index++) {
+                keys[index] = Utils.generateRowKey(index * appConfig.getRowCount() / count);
+            }
+
+            DataProvider.QUERY_KEYS = QueryKeys.of(appConfig.getToolTable(), keys);
+            return;
+        }
+
+        final String source = format("toolTable=%s, sqlTable=%s, index=%s", appConfig.getToolTable(), appConfig.getSqlTable(), appConfig.getIndexName());
+        final File keyFile = appConfig.getQueryKeyFile() == null ? null : new File(appConfig.getQueryKeyFile());
+        if( keyFile != null && keyFile.exists() ) {
+            if( appConfig.isDeleteTable() ) {
+                // The recreated tables may have new identifiers, which the stored index keys would not match
+                log.warn(format("Ignoring the query key file %s since the table is being deleted, regenerating the keys", keyFile.getAbsolutePath()));
+            } else {
+                final QueryKeys stored = loadQueryKeys(keyFile);
+                if( stored != null && stored.getSource().equals(source) && stored.size() == count ) {
+                    DataProvider.QUERY_KEYS = stored;
+                    log.info(format("Mapped %d query keys from %s", count, keyFile.getAbsolutePath()));
+                    return;
+                }
+
+                if( stored != null ) {
+                    log.warn(format("The query key file %s holds %d keys for %s instead of %d keys for %s, regenerating the keys",
+                            keyFile.getAbsolutePath(), stored.size(), stored.getSource(), count, source));
+                }
+            }
+        }
+
+        final long startTime = System.currentTimeMillis();
+        DataProvider.QUERY_KEYS = QueryKeys.of(source, HoneycombQueryGenerator.generate(appConfig, count));
+        log.info(format("Generated %d query keys in %d ms", count, System.currentTimeMillis() - startTime));
+
+        if( keyFile != null ) {
+            DataProvider.QUERY_KEYS.write(keyFile);
+            log.info("Query keys written to " + keyFile.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Maps a query key file, which may have been written in an older form or truncated
+     *
+     * @return The keys, or null if the file does not hold a valid list of keys
+     * @throws IOException If the file could not be mapped
+     */
+    private static QueryKeys loadQueryKeys(final File keyFile) throws IOException {
+        try {
+            return QueryKeys.load(keyFile);
+        } catch (IllegalArgumentException e) {
+            log.warn(format("The query key file %s is not a valid list of keys, regenerating the keys: %s", keyFile.getAbsolutePath(), e.getMessage()));
+            return null;
+        }
+    }
+
     /**
      * Attempts to create the table used by this tool with the fixed configuration details
      *
@@ -130,17 +298,15 @@ public final class BenchmarkDriver {
             if( !admin.tableExists(tableName) ) {
                 HTableDescriptor tableDesc = new HTableDescriptor(tableName.getBytes(Charsets.UTF_8));
 
-                HColumnDescriptor colDesc = new HColumnDescriptor(ConfigConstants.COLUMN_FAMILY);
-                colDesc.setBlockCacheEnabled(true).setBlocksize(65536)
-                        .setBloomFilterType(BloomType.ROW)
-                        .setCompressionType(Algorithm.SNAPPY)
-                        .setDataBlockEncoding(DataBlockEncoding.PREFIX)
-                        .setMaxVersions(1);
-
-                tableDesc.addFamily(colDesc);
+                tableDesc.addFamily(Utils.createColumnDescriptor());
 
-                admin.createTable(tableDesc);
-                log.info("Created table: " + tableName);
+                if( appConfig.getRegions() > 1 ) {
+                    admin.createTable(tableDesc, computeSplitKeys());
+                    log.info(format("Created table: %s with %d regions", tableName, appConfig.getRegions()));
+                } else {
+                    admin.createTable(tableDesc);
+                    log.info("Created table: " + tableName);
+                }
             } else {
                 log.debug("Table already exists, creation skipped");
             }
@@ -150,6 +316,74 @@ public final class BenchmarkDriver {
     }
 
 
+    /**
+     * Fills the table used by this tool with the rows of the keyspace by bulk loading
+     * HFiles written on the client, so that the tests start from a fully compacted table
+     */
+    private void prepareTable() {
+        if( tableConnections.isEmpty() ) {
+            return;
+        }
+
+        try {
+            new BulkLoader(config, appConfig).load((HTable) tableConnections.get(0));
+        } catch (IOException e) {
+            log.error("Error occurred during the bulk load of the table", e);
+        }
+    }
+
+
+    /**
+     * Computes the boundaries between the regions of a pre-split table using the
+     * configured split algorithm
+     *
+     * @return The sorted start keys of every region but the first
+     */
+    private byte[][] computeSplitKeys() {
+        final int regions = appConfig.getRegions();
+        final String algorithm = appConfig.getSplitAlgorithm();
+
+        if( algorithm.equals(ConfigConstants.ARG_SPLIT_UNIFORM) ) {
+            return new RegionSplitter.UniformSplit().split(regions);
+        } else if( algorithm.equals(ConfigConstants.ARG_SPLIT_HEX) ) {
+            return new RegionSplitter.HexStringSplit().split(regions);
+        } else if( !algorithm.equals(ConfigConstants.ARG_SPLIT_ROWKEY) ) {
+            throw new IllegalArgumentException("Unknown split algorithm: " + algorithm);
+        }
+
+        checkArgument(appConfig.getRowCount() >= regions, "The row count must be at least the number of regions");
+
+        // Divide the rowkeys written by the tests into equal ranges
+        final byte[][] splitKeys = new byte[regions - 1][];
+        for(int region = 1; region < regions; region++) {
+            splitKeys[region - 1] = Utils.generateRowKey(region * appConfig.getRowCount() / regions);
+        }
+
+        return splitKeys;
+    }
+
+    /**
+     * Logs the RegionServer hosting each region of the table used by this tool
+     */
+    private void logRegionAssignments() {
+        if( tableConnections.isEmpty() ) {
+            return;
+        }
+
+        try {
+            final NavigableMap<HRegionInfo, ServerName> locations = ((HTable) tableConnections.get(0)).getRegionLocations();
+
+            log.info(format("Table %s has %d regions", appConfig.getToolTable(), locations.size()));
+            for(final Map.Entry<HRegionInfo, ServerName> location : locations.entrySet()) {
+                log.info(format("Region %s [%s, %s) is hosted by %s", location.getKey().getEncodedName(),
+                        Utils.generateHexString(location.getKey().getStartKey()),
+                        Utils.generateHexString(location.getKey().getEndKey()), location.getValue()));
+            }
+        } catch (IOException e) {
+            log.error("Error occurred while locating the table regions", e);
+        }
+    }
+
     /**
      * Attempts to delete the table used by this tool
      *
@@ -175,12 +409,24 @@ public final class BenchmarkDriver {
     }
 
     /**
-     * Creates and configures a new connection to the HBase table
+     * Creates and configures a new connection to the HBase table for each client thread,
+     * since an {@link HTable} is not safe to share between threads.  With the memory
+     * backend every connection shares a single table held in memory.
      */
     private void connectToTable() {
+        final InMemoryTable memoryTable = appConfig.isMemoryBackend()
+                ? new InMemoryTable(new InMemoryStore(), new FaultInjector(SizeDistributions.forMemoryLatency(appConfig), appConfig.getMemoryFailurePercent()),
+                        config, appConfig.getToolTable())
+                : null;
+
         try {
-            tableConnection = new HTable(config, appConfig.getToolTable());
-            tableConnection.setAutoFlush(appConfig.isAutoFlushEnabled());
+            for(int worker = 0; worker < appConfig.getThreads(); worker++) {
+                final HTableInterface tableConnection = memoryTable == null ? new HTable(config, appConfig.getToolTable()) : memoryTable.newConnection();
+                tableConnection.setAutoFlush(appConfig.isAutoFlushEnabled());
+
+                tableConnections.add(tableConnection);
+                workerConfigs.add(appConfig.forWorker(worker));
+            }
         } catch (IOException e) {
             log.error("Error occurred during table connection", e);
         }
@@ -190,11 +436,16 @@ public final class BenchmarkDriver {
      * Run the benchmark test with the user-defined configuration options
      */
     public void runBenchmark() {
-        checkState(tableConnection != null, "Connection to table does not exist");
+        checkState(tableConnections.size() == appConfig.getThreads(), "Connection to table does not exist");
 
         final DescriptiveStatistics totalExecutionTimeStats = new DescriptiveStatistics();
         final DescriptiveStatistics testStats = new DescriptiveStatistics();
         final DescriptiveStatistics totalTestStats = new DescriptiveStatistics();
+        final LatencyHistogram totalRawLatency = new LatencyHistogram();
+        final LatencyHistogram totalCorrectedLatency = new LatencyHistogram();
+        final Map<String, LatencyHistogram> totalOperationLatency = Maps.newTreeMap();
+        long totalFailed = 0;
+        final BenchmarkResults results = new BenchmarkResults(appConfig, ResultsWriter.describeEnvironment());
 
         log.info("Execution Configuration: " + appConfig);
 
@@ -202,24 +453,66 @@ public final class BenchmarkDriver {
 
         log.info("Running test: " + appConfig.getTestType());
 
+        if( appConfig.isWarmupEnabled() ) {
+            runWarmup(test);
+        }
+
         // Execute the test a total number of times with the specified number of runs
         for(int testRun = 1; testRun <= appConfig.getRunTimes(); testRun++) {
 
             log.info("Test execution number: " + testRun);
 
+            final List<OperationTimer> timers = createTimers();
+            final IntervalReporter reporter = appConfig.getReportInterval() > 0 ? new IntervalReporter(appConfig.getReportInterval()) : null;
+            final ClientResourceMonitor monitor = new ClientResourceMonitor();
+            final ClusterMonitor clusterMonitor = appConfig.isMemoryBackend() ? null : new ClusterMonitor(config, appConfig.getToolTable());
+            final IntervalSampler sampler = new IntervalSampler(timers, SAMPLE_INTERVAL_MS, reporter, monitor);
+            if( clusterMonitor != null ) {
+                clusterMonitor.start();
+            }
             final long startTime = System.currentTimeMillis();
+            monitor.start();
+            sampler.start();
 
-            if(appConfig.getExecType().equals(ConfigConstants.ARG_EXEC_TIMED)) {
-                runTimedTest(test, testStats);
+            if( appConfig.getExecType().equals(ConfigConstants.ARG_EXEC_TIMED)
+                    || appConfig.getExecType().equals(ConfigConstants.ARG_EXEC_RATE) ) {
+                runTimedTest(test, testStats, timers);
             } else if( appConfig.getExecType().equals(ConfigConstants.ARG_EXEC_COUNT) ) {
-                test.runTest(tableConnection, appConfig, testStats);
+                runCountedTest(test, testStats, timers);
             }
 
+            sampler.stop();
             final long runTime = System.currentTimeMillis() - startTime;
 
             log.info(format("Test execution time: %d ms", runTime));
             totalExecutionTimeStats.addValue(runTime);
 
+            // Merge this run's operation latencies, then add them to the cumulative latency histograms
+            final LatencyHistogram runRawLatency = new LatencyHistogram();
+            final LatencyHistogram runCorrectedLatency = new LatencyHistogram();
+            final Map<String, LatencyHistogram> runOperationLatency = Maps.newTreeMap();
+            long runFailed = 0;
+            for(final OperationTimer timer : timers) {
+                runFailed += timer.getFailedCount();
+                runRawLatency.add(timer.getRawLatency());
+                runCorrectedLatency.add(timer.getCorrectedLatency());
+                mergeOperationLatency(timer.getOperationLatency(), runOperationLatency);
+            }
+
+            totalRawLatency.add(runRawLatency);
+            totalCorrectedLatency.add(runCorrectedLatency);
+            mergeOperationLatency(runOperationLatency, totalOperationLatency);
+            totalFailed += runFailed;
+
+            log.info(format("Operations per second: %.2f", runRawLatency.getCount() / Utils.convertMillisToSeconds(runTime)));
+            logFailures(runRawLatency.getCount(), runFailed);
+            final ClientMetrics clientMetrics = monitor.finish("Test execution number " + testRun);
+            final ClusterMetrics clusterMetrics = clusterMonitor == null ? null : clusterMonitor.finish("Test execution number " + testRun);
+
+            results.addRun(new RunResult(testRun, runTime, runRawLatency.getCount(), runFailed, testStats.getSum(),
+                    LatencySummary.of(runRawLatency), LatencySummary.of(runCorrectedLatency),
+                    summarizeOperationLatency(runOperationLatency), sampler.getSamples(), clientMetrics, clusterMetrics));
+
             // Output test run statistical data, if available
             if( testStats.getN() > 0 ) {
                 log.info(format("Units per second: %.2f", testStats.getSum() / Utils.convertMillisToSeconds(runTime)));
@@ -234,7 +527,66 @@ public final class BenchmarkDriver {
                 testStats.clear();
             }
         }
-            displayCumulativeStats(totalExecutionTimeStats, totalTestStats);
+        displayCumulativeStats(totalExecutionTimeStats, totalTestStats);
+        displayLatencyStats(totalRawLatency, totalCorrectedLatency);
+        displayOperationStats(totalOperationLatency, totalExecutionTimeStats);
+        logFailures(totalRawLatency.getCount(), totalFailed);
+
+        if( appConfig.getResultsFile() != null ) {
+            results.setTotal(new RunResult(0, (long) totalExecutionTimeStats.getSum(), totalRawLatency.getCount(), totalFailed, totalTestStats.getSum(),
+                    LatencySummary.of(totalRawLatency), LatencySummary.of(totalCorrectedLatency),
+                    summarizeOperationLatency(totalOperationLatency), Collections.<IntervalSample>emptyList(), null, null));
+            writeResults(results);
+        }
+    }
+
+    /**
+     * Reports the operations that failed, if any, as a share of the attempted operations
+     *
+     * @param completed The number of operations completed
+     * @param failed The number of operations that failed
+     */
+    private static void logFailures(final long completed, final long failed) {
+        if( failed > 0 ) {
+            log.warn(format("Failed operations: %d (%.2f%% of attempted)", failed, failed * 100.0 / (completed + failed)));
+        }
+    }
+
+    /**
+     * Writes the results of the benchmark to the file requested by the configuration
+     *
+     * @param results The results to write
+     */
+    private void writeResults(final BenchmarkResults results) {
+        final File resultsFile = new File(appConfig.getResultsFile());
+
+        try {
+            ResultsWriter.write(results, resultsFile);
+            log.info("Results written to " + resultsFile.getAbsolutePath());
+        } catch (IOException e) {
+            log.error("Error occurred while writing the results file", e);
+        }
+    }
+
+    /**
+     * Creates the operation timer for each client thread, pacing the operations when a
+     * target rate has been requested
+     *
+     * @return The timers, one for each client thread
+     */
+    private List<OperationTimer> createTimers() {
+        final List<OperationTimer> timers = Lists.newArrayList();
+
+        for(int worker = 0; worker < appConfig.getThreads(); worker++) {
+            if( appConfig.getExecType().equals(ConfigConstants.ARG_EXEC_RATE) ) {
+                // Spread the target rate evenly across the client threads
+                timers.add(OperationTimer.fixedRate(appConfig.getTargetOps() / appConfig.getThreads()));
+            } else {
+                timers.add(OperationTimer.closedLoop());
+            }
+        }
+
+        return timers;
     }
 
     /**
@@ -271,17 +623,83 @@ public final class BenchmarkDriver {
     }
 
     /**
-     * Runs the provided test multiple times until the minimum execution time
-     * limit has been reached
+     * Displays the latency statistics of the individual operations issued by the test, if available
+     *
+     * @param rawLatency The latencies measured from the actual start of each operation
+     * @param correctedLatency The latencies measured from the intended start of each operation
+     */
+    private void displayLatencyStats(final LatencyHistogram rawLatency, final LatencyHistogram correctedLatency) {
+        if( rawLatency.getCount() == 0 ) {
+            return;
+        }
+
+        Utils.displayStatistics(rawLatency, "Operation Latency");
+
+        // Only a paced execution can fall behind its schedule
+        if( appConfig.getExecType().equals(ConfigConstants.ARG_EXEC_RATE) ) {
+            Utils.displayStatistics(correctedLatency, "Corrected Operation Latency");
+        }
+    }
+
+    /**
+     * Displays the throughput and latency statistics of each type of operation issued by the test, if available
+     *
+     * @param operationLatency The latencies of each type of operation
+     * @param totalExecutionStats The cumulative execution time
+     */
+    private void displayOperationStats(final Map<String, LatencyHistogram> operationLatency, final DescriptiveStatistics totalExecutionStats) {
+        for(final Map.Entry<String, LatencyHistogram> entry : operationLatency.entrySet()) {
+            Utils.displayStatistics(entry.getValue(), format("%s Operation Latency", entry.getKey()));
+            log.info(format("Average %s operations per second: %.2f", entry.getKey(),
+                    entry.getValue().getCount() / Utils.convertMillisToSeconds(totalExecutionStats.getSum())));
+        }
+    }
+
+    /**
+     * Runs the provided test once on every client thread, each over its own share of the rows
+     *
+     * @param test The test to run
+     * @param testStats The stats container used to collect a metric from the test
+     * @param timers The timers used by each client thread to measure its operations
+     */
+    private void runCountedTest(final PerformanceTest test, final DescriptiveStatistics testStats, final List<OperationTimer> timers) {
+        final CountDownLatch doneLatch = new CountDownLatch(appConfig.getThreads());
+        final List<DescriptiveStatistics> workerStats = Lists.newArrayList();
+
+        for(int worker = 0; worker < appConfig.getThreads(); worker++) {
+            final DescriptiveStatistics stats = new DescriptiveStatistics();
+            final CountedTestRunner testRunner = new CountedTestRunner(tableConnections.get(worker), test,
+                    workerConfigs.get(worker), stats, timers.get(worker), doneLatch);
+
+            workerStats.add(stats);
+            new Thread(testRunner, format("%s Thread %d", testRunner.getClass().getSimpleName(), worker)).start();
+        }
+
+        try {
+            // Wait for every test runner thread to finish
+            doneLatch.await();
+        } catch (InterruptedException e) {
+            // Restore the interrupted status
+            Thread.currentThread().interrupt();
+
+            log.error("Waiting for test to finish was interrupted", e);
+        }
+
+        mergeStatistics(workerStats, testStats);
+    }
+
+    /**
+     * Runs the provided test multiple times on every client thread until the minimum
+     * execution time limit has been reached
      *
      * @param test The test to run
      * @param testStats The stats container used to collect a metric from the test
+     * @param timers The timers used by each client thread to pace and measure its operations
      */
-    private void runTimedTest(final PerformanceTest test, final DescriptiveStatistics testStats) {
-        final CountDownLatch doneLatch = new CountDownLatch(1);
-        final TimedTestRunner testRunner = new TimedTestRunner(tableConnection, test, appConfig, testStats, doneLatch);
-        final Thread t = new Thread(testRunner, format("%s Thread", testRunner.getClass().getSimpleName()));
-        t.start();
+    private void runTimedTest(final PerformanceTest test, final DescriptiveStatistics testStats, final List<OperationTimer> timers) {
+        final CountDownLatch doneLatch = new CountDownLatch(appConfig.getThreads());
+        final List<DescriptiveStatistics> workerStats = Lists.newArrayList();
+        final List<TimedTestRunner> testRunners = startTimedRunners(test, workerStats, timers, doneLatch);
 
         // Let the test runner execute for the specified period of time before termination
         try {
@@ -294,9 +712,123 @@ public final class BenchmarkDriver {
         }
 
         log.info("Minimum execution time exceeded, requesting clean termination of test");
-        testRunner.signalFinish();
+        stopTimedRunners(testRunners, doneLatch);
+
+        mergeStatistics(workerStats, testStats);
+    }
+
+    /**
+     * Runs the provided test on every client thread until the warmup requested by the
+     * configuration is complete, discarding everything the test collected meanwhile
+     *
+     * @param test The test to warm up
+     */
+    private void runWarmup(final PerformanceTest test) {
+        final CountDownLatch doneLatch = new CountDownLatch(appConfig.getThreads());
+        final List<OperationTimer> timers = createTimers();
+        final List<TimedTestRunner> testRunners = startTimedRunners(test, Lists.<DescriptiveStatistics>newArrayList(), timers, doneLatch);
+
+        final SteadyStateDetector detector = appConfig.getSteadyStateVariation() > 0
+                ? new SteadyStateDetector(STEADY_STATE_WINDOW, appConfig.getSteadyStateVariation()) : null;
+
+        log.info("Warming up...");
+
+        final long startTime = System.currentTimeMillis();
+        long lastOperations = 0;
+        long elapsed = 0;
+
         try {
-            // Wait for the test runner thread to finish
+            while( !isWarmupComplete(elapsed, lastOperations, detector) ) {
+                Thread.sleep(STEADY_STATE_INTERVAL_MS);
+
+                long operations = 0;
+                for(final OperationTimer timer : timers) {
+                    operations += timer.getCompletedCount();
+                }
+
+                if( detector != null ) {
+                    detector.addInterval((operations - lastOperations) / Utils.convertMillisToSeconds(STEADY_STATE_INTERVAL_MS));
+                    log.debug(format("Warmup throughput variation: %.2f%%", detector.getVariation() * 100));
+                }
+
+                lastOperations = operations;
+                elapsed = System.currentTimeMillis() - startTime;
+            }
+        } catch (InterruptedException e) {
+            // Restore the interrupted status
+            Thread.currentThread().interrupt();
+
+            log.error("Warmup period interrupted", e);
+        }
+
+        log.info(format("Warmup complete after %d ms and %d operations, requesting clean termination of test", elapsed, lastOperations));
+        stopTimedRunners(testRunners, doneLatch);
+    }
+
+    /**
+     * Decides whether the warmup requested by the configuration has been satisfied
+     *
+     * @param elapsed The time spent warming up so far, in milliseconds
+     * @param operations The number of operations completed while warming up so far
+     * @param detector The steady state detector, or null if steady state is not required
+     * @return True if measurement can begin
+     */
+    private boolean isWarmupComplete(final long elapsed, final long operations, final SteadyStateDetector detector) {
+        if( elapsed < appConfig.getWarmupTime() || operations < appConfig.getWarmupOps() ) {
+            return false;
+        }
+
+        if( detector == null || detector.isSteady() ) {
+            return true;
+        }
+
+        if( elapsed >= appConfig.getWarmupTime() + MAX_STEADY_STATE_WAIT_MS ) {
+            log.warn(format("Throughput did not reach a steady state within %d ms, measuring anyway", MAX_STEADY_STATE_WAIT_MS));
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Starts a {@link TimedTestRunner} executing the provided test on every client thread
+     *
+     * @param test The test to run
+     * @param workerStats The list receiving the stats container used by each client thread
+     * @param timers The timers used by each client thread to pace and measure its operations
+     * @param doneLatch The latch counted down as each client thread finishes
+     * @return The started test runners
+     */
+    private List<TimedTestRunner> startTimedRunners(final PerformanceTest test, final List<DescriptiveStatistics> workerStats,
+            final List<OperationTimer> timers, final CountDownLatch doneLatch) {
+        final List<TimedTestRunner> testRunners = Lists.newArrayList();
+
+        for(int worker = 0; worker < appConfig.getThreads(); worker++) {
+            final DescriptiveStatistics stats = new DescriptiveStatistics();
+            final TimedTestRunner testRunner = new TimedTestRunner(tableConnections.get(worker), test,
+                    workerConfigs.get(worker), stats, timers.get(worker), doneLatch);
+
+            testRunners.add(testRunner);
+            workerStats.add(stats);
+            new Thread(testRunner, format("%s Thread %d", testRunner.getClass().getSimpleName(), worker)).start();
+        }
+
+        return testRunners;
+    }
+
+    /**
+     * Signals every test runner to finish and waits for all of them to terminate
+     *
+     * @param testRunners The test runners to stop
+     * @param doneLatch The latch counted down as each client thread finishes
+     */
+    private static void stopTimedRunners(final List<TimedTestRunner> testRunners, final CountDownLatch doneLatch) {
+        for(final TimedTestRunner testRunner : testRunners) {
+            testRunner.signalFinish();
+        }
+
+        try {
+            // Wait for every test runner thread to finish
             doneLatch.await();
         } catch (InterruptedException e) {
             // Restore the interrupted status
@@ -307,4 +839,52 @@ public final class BenchmarkDriver {
             log.info("Test has been terminated");
         }
     }
+
+    /**
+     * Adds the latencies of each type of operation recorded by a client thread to the cumulative latencies
+     *
+     * @param workerLatency The latencies recorded by the client thread
+     * @param totalLatency The cumulative latencies receiving the merged values
+     */
+    private static void mergeOperationLatency(final Map<String, LatencyHistogram> workerLatency, final Map<String, LatencyHistogram> totalLatency) {
+        for(final Map.Entry<String, LatencyHistogram> entry : workerLatency.entrySet()) {
+            LatencyHistogram latency = totalLatency.get(entry.getKey());
+            if( latency == null ) {
+                latency = new LatencyHistogram();
+                totalLatency.put(entry.getKey(), latency);
+            }
+
+            latency.add(entry.getValue());
+        }
+    }
+
+    /**
+     * Summarizes the latencies of each type of operation
+     *
+     * @param operationLatency The latencies of each type of operation
+     * @return The summaries, keyed by the name of the type of operation
+     */
+    private static Map<String, LatencySummary> summarizeOperationLatency(final Map<String, LatencyHistogram> operationLatency) {
+        final Map<String, LatencySummary> summaries = Maps.newTreeMap();
+        for(final Map.Entry<String, LatencyHistogram> entry : operationLatency.entrySet()) {
+            summaries.put(entry.getKey(), LatencySummary.of(entry.getValue()));
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Adds the values collected by each client thread to a single statistics container
+     *
+     * @param workerStats The stats containers populated by the client threads
+     * @param testStats The stats container receiving the merged values
+     */
+    private static void mergeStatistics(final List<DescriptiveStatistics> workerStats, final DescriptiveStatistics testStats) {
+        for(final DescriptiveStatistics stats : workerStats) {
+            final double[] values = stats.getValues();
+            for(int index = 0; index < values.length; index++) {
+                testStats.addValue(values[index]);
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,211 @@
+package bench;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.io.hfile.CacheConfig;
+import org.apache.hadoop.hbase.io.hfile.HFileDataBlockEncoderImpl;
+import org.apache.hadoop.hbase.mapreduce.LoadIncrementalHFiles;
+import org.apache.hadoop.hbase.regionserver.StoreFile;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.log4j.Logger;
+
+import util.Utils;
+import util.WorkerThreadFactory;
+
+import com.google.common.collect.Lists;
+
+import config.Config;
+import config.ConfigConstants;
+
+/**
+ * Prepares the rows read by the tests by writing them into sorted HFiles on the client
+ * and bulk loading the files into the table, instead of writing them through the
+ * RegionServers.
+ * <p>
+ * One file is written for every region of the table, in parallel on the configured
+ * number of client threads, with the settings of the column family the table was
+ * created with.  Since the rowkeys of the tests keep the order of their identifiers, the
+ * rows of a region are found by searching the identifiers for the region boundaries, so
+ * no file needs to be split while it is loaded.  The files are marked as major compacted,
+ * leaving every region with a single compacted store file.
+ */
+public final class BulkLoader {
+    private static final Logger log = Logger.getLogger(BulkLoader.class);
+
+    private final Configuration config;
+    private final Config appConfig;
+    private final HColumnDescriptor colDesc = Utils.createColumnDescriptor();
+
+    /**
+     *
+     *
+     * @param conf The HBase configuration used to reach the cluster and its file system
+     * @param app The application configuration describing the rows to load
+     */
+    public BulkLoader(final Configuration conf, final Config app) {
+        config = conf;
+        appConfig = app;
+    }
+
+    /**
+     * Writes the rows of the whole keyspace into HFiles and loads them into the table
+     *
+     * @param table The table to load, which must have been created with the tool's column family
+     * @throws IOException If the files could not be written or loaded
+     */
+    public void load(final HTable table) throws IOException {
+        final long startTime = System.currentTimeMillis();
+        final Path outputDir = new Path(appConfig.getBulkLoadDir(), format("%s-%d", appConfig.getToolTable(), startTime));
+        final FileSystem fs = outputDir.getFileSystem(config);
+
+        try {
+            final long rows = writeRegionFiles(table.getStartKeys(), new Path(outputDir, ConfigConstants.COLUMN_FAMILY), fs, startTime);
+            log.info(format("Wrote %d rows into HFiles in %d ms", rows, System.currentTimeMillis() - startTime));
+
+            createLoader().doBulkLoad(outputDir, table);
+            log.info(format("Bulk loaded %d rows into table %s in %d ms", rows, appConfig.getToolTable(), System.currentTimeMillis() - startTime));
+        } finally {
+            if( !fs.delete(outputDir, true) ) {
+                log.warn("Unable to delete the bulk load directory " + outputDir);
+            }
+        }
+    }
+
+    private LoadIncrementalHFiles createLoader() throws IOException {
+        try {
+            return new LoadIncrementalHFiles(config);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Unable to create the bulk loader", e);
+        }
+    }
+
+    /**
+     * Writes the file of every region on the client threads
+     *
+     * @return The number of rows written
+     */
+    private long writeRegionFiles(final byte[][] startKeys, final Path familyDir, final FileSystem fs, final long timestamp) throws IOException {
+        final long rowCount = appConfig.getRowCount();
+        final ExecutorService executor = Executors.newFixedThreadPool(appConfig.getThreads(), new WorkerThreadFactory(BulkLoader.class.getSimpleName(), true));
+        final List<Future<Long>> regionRows = Lists.newArrayListWithCapacity(startKeys.length);
+
+        log.info(format("Writing %d rows into HFiles for %d regions...", rowCount, startKeys.length));
+
+        try {
+            for(int region = 0; region < startKeys.length; region++) {
+                final long firstRow = region == 0 ? 0 : firstRowFrom(startKeys[region], rowCount);
+                final long lastRow = region + 1 == startKeys.length ? rowCount : firstRowFrom(startKeys[region + 1], rowCount);
+
+                regionRows.add(executor.submit(new RegionWriter(new Path(familyDir, format("region-%05d", region)), fs, firstRow, lastRow, timestamp)));
+            }
+
+            long rows = 0;
+            for(final Future<Long> written : regionRows) {
+                rows += written.get();
+            }
+
+            return rows;
+        } catch (InterruptedException e) {
+            // Restore the interrupted status
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Writing the HFiles was interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Error occurred while writing an HFile", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Searches for the first row whose rowkey is not below the specified key
+     *
+     * @param key The start key of a region
+     * @param rowCount The number of rows in the keyspace
+     * @return The identifier of the row, or the row count if every rowkey is below the key
+     */
+    private static long firstRowFrom(final byte[] key, final long rowCount) {
+        long low = 0;
+        long high = rowCount;
+
+        while( low < high ) {
+            final long mid = (low + high) >>> 1;
+            if( Bytes.compareTo(Utils.generateRowKey(mid), key) < 0 ) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Writes the rows of one region into a single HFile
+     */
+    private final class RegionWriter implements Callable<Long> {
+        private final Path path;
+        private final FileSystem fs;
+        private final long firstRow;
+        private final long lastRow;
+        private final long timestamp;
+
+        private RegionWriter(final Path file, final FileSystem fileSystem, final long first, final long last, final long ts) {
+            path = file;
+            fs = fileSystem;
+            firstRow = first;
+            lastRow = last;
+            timestamp = ts;
+        }
+
+        @Override
+        public Long call() throws IOException {
+            if( firstRow >= lastRow ) {
+                return 0L;
+            }
+
+            final StoreFile.Writer writer = new StoreFile.WriterBuilder(config, new CacheConfig(config), fs, colDesc.getBlocksize())
+                    .withFilePath(path)
+                    .withCompression(colDesc.getCompression())
+                    .withDataBlockEncoder(new HFileDataBlockEncoderImpl(colDesc.getDataBlockEncodingOnDisk(), colDesc.getDataBlockEncoding()))
+                    .withBloomType(colDesc.getBloomFilterType())
+                    .withComparator(KeyValue.COMPARATOR)
+                    .withMaxKeyCount(lastRow - firstRow)
+                    .build();
+
+            try {
+                for(long row = firstRow; row < lastRow; row++) {
+                    writer.append(new KeyValue(Utils.generateRowKey(row), Utils.COLUMN_FAMILY_BYTES, Utils.COLUMN_QUAL_BYTES,
+                            timestamp, Utils.generateRowValue()));
+                }
+
+                writer.appendFileInfo(StoreFile.BULKLOAD_TIME_KEY, Bytes.toBytes(System.currentTimeMillis()));
+                writer.appendFileInfo(StoreFile.MAJOR_COMPACTION_KEY, Bytes.toBytes(true));
+                writer.appendTrackedTimestampsToMetadata();
+            } finally {
+                writer.close();
+            }
+
+            log.info(format("Wrote rows %d to %d into %s", firstRow, lastRow, path.getName()));
+
+            return lastRow - firstRow;
+        }
+    }
+}
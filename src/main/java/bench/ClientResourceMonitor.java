@@ -0,0 +1,264 @@
+package bench;
+
+import static java.lang.String.format;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import bench.results.ClientMetrics;
+
+import util.WorkerThreadFactory;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Measures the resources used by the benchmark client JVM during one execution of a test
+ * through the platform MXBeans, so that executions limited by the client rather than by
+ * the cluster can be recognized.
+ * <p>
+ * The CPU time and allocations of each thread are only available while the thread is
+ * alive, so they are sampled periodically by the {@link IntervalSampler} thread; a thread
+ * that ends between samples loses at most one interval of its usage.  Process CPU and
+ * garbage collection figures are exact.  The process CPU and per-thread allocation
+ * counters are HotSpot extensions and are reported as zero on other JVMs.
+ */
+public final class ClientResourceMonitor {
+    private static final Logger log = Logger.getLogger(ClientResourceMonitor.class);
+
+    /**
+     * The CPU use of one client thread, as a percentage of a core, above which the thread
+     * is considered to have limited the execution
+     */
+    private static final double CPU_BOUND_THREAD_PERCENT = 90;
+
+    /**
+     * The CPU use of the process, as a percentage of all cores, above which the client is
+     * considered to have limited the execution
+     */
+    private static final double CPU_BOUND_PROCESS_PERCENT = 90;
+
+    /**
+     * The time spent collecting garbage, as a percentage of the execution time, above
+     * which the client is considered to have limited the execution
+     */
+    private static final double GC_BOUND_PERCENT = 10;
+
+    private static final String RUNNER_THREAD_SUFFIX = "TestRunner Thread";
+    private static final String[] HBASE_CLIENT_THREAD_PREFIXES = { "IPC Client", "hconnection", "htable", "hbase" };
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+
+    private final Map<Long, Long> startCpu = Maps.newHashMap();
+    private final Map<Long, Long> lastCpu = Maps.newHashMap();
+    private final Map<Long, Long> startAllocated = Maps.newHashMap();
+    private final Map<Long, Long> lastAllocated = Maps.newHashMap();
+    private final Map<Long, String> threadNames = Maps.newHashMap();
+    private final Map<String, Long> startGcCount = Maps.newTreeMap();
+    private final Map<String, Long> startGcTime = Maps.newTreeMap();
+
+    private long startTime;
+    private long startProcessCpu;
+
+    /**
+     * Takes the measurements at the start of an execution
+     */
+    public void start() {
+        startTime = System.nanoTime();
+        startProcessCpu = getProcessCpuTime();
+
+        for(final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            startGcCount.put(collector.getName(), collector.getCollectionCount());
+            startGcTime.put(collector.getName(), collector.getCollectionTime());
+        }
+
+        sampleThreads(startCpu, startAllocated);
+    }
+
+    /**
+     * Samples the CPU time and allocations of the live threads, called periodically while
+     * the execution runs
+     */
+    public void sample() {
+        sampleThreads(null, null);
+    }
+
+    /**
+     * Takes the measurements at the end of an execution and computes the resources used
+     *
+     * @param runName The name of the execution, used when reporting
+     * @return The resources used by the client during the execution
+     */
+    public ClientMetrics finish(final String runName) {
+        sampleThreads(null, null);
+
+        final long elapsedNanos = Math.max(1L, System.nanoTime() - startTime);
+        final int processors = os.getAvailableProcessors();
+
+        // Divide the CPU time used by each thread into the categories of interest
+        long workerCpu = 0;
+        long maxWorkerCpu = 0;
+        long hbaseClientCpu = 0;
+        long allocated = 0;
+        for(final Map.Entry<Long, Long> entry : lastCpu.entrySet()) {
+            final long used = entry.getValue() - valueOrZero(startCpu, entry.getKey());
+            final String name = threadNames.get(entry.getKey());
+
+            if( isWorkerThread(name) ) {
+                workerCpu += used;
+                maxWorkerCpu = Math.max(maxWorkerCpu, used);
+            } else if( isHBaseClientThread(name) ) {
+                hbaseClientCpu += used;
+            }
+        }
+        for(final Map.Entry<Long, Long> entry : lastAllocated.entrySet()) {
+            allocated += entry.getValue() - valueOrZero(startAllocated, entry.getKey());
+        }
+
+        final Map<String, Long> gcCount = Maps.newTreeMap();
+        final Map<String, Long> gcTime = Maps.newTreeMap();
+        long totalGcMillis = 0;
+        for(final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            final long collections = collector.getCollectionCount() - valueOrZero(startGcCount, collector.getName());
+            final long collectionMillis = collector.getCollectionTime() - valueOrZero(startGcTime, collector.getName());
+
+            gcCount.put(collector.getName(), collections);
+            gcTime.put(collector.getName(), collectionMillis);
+            totalGcMillis += collectionMillis;
+        }
+
+        final double processCpuPercent = percentOf(getProcessCpuTime() - startProcessCpu, elapsedNanos);
+        final double maxWorkerCpuPercent = percentOf(maxWorkerCpu, elapsedNanos);
+        final double gcPercent = percentOf(TimeUnit.MILLISECONDS.toNanos(totalGcMillis), elapsedNanos);
+
+        final boolean cpuBound = maxWorkerCpuPercent >= CPU_BOUND_THREAD_PERCENT
+                || processCpuPercent >= CPU_BOUND_PROCESS_PERCENT * processors;
+        final boolean gcBound = gcPercent >= GC_BOUND_PERCENT;
+
+        final ClientMetrics metrics = new ClientMetrics(processCpuPercent, percentOf(workerCpu, elapsedNanos), maxWorkerCpuPercent,
+                percentOf(hbaseClientCpu, elapsedNanos), gcCount, gcTime, gcPercent, getHeapAfterGc(),
+                allocated / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)), cpuBound, gcBound);
+
+        report(runName, metrics, processors);
+
+        return metrics;
+    }
+
+    private void report(final String runName, final ClientMetrics metrics, final int processors) {
+        log.info(format("Client CPU: process %.1f%% of %d cores, test threads %.1f%% (busiest %.1f%%), HBase client threads %.1f%%",
+                metrics.getProcessCpuPercent(), processors, metrics.getWorkerCpuPercent(), metrics.getMaxWorkerCpuPercent(),
+                metrics.getHbaseClientCpuPercent()));
+        log.info(format("Client GC: %.1f%% of the time, collections %s, time (ms) %s, heap after GC %d MB, allocation rate %.1f MB/s",
+                metrics.getGcTimePercent(), metrics.getGcCount(), metrics.getGcTimeMillis(), metrics.getHeapAfterGcBytes() >> 20,
+                metrics.getAllocationBytesPerSecond() / (1 << 20)));
+
+        if( metrics.isCpuBound() ) {
+            log.warn(format("%s was limited by client CPU; its throughput does not reflect the cluster and should be discarded", runName));
+        }
+        if( metrics.isGcBound() ) {
+            log.warn(format("%s was limited by client garbage collection; its throughput does not reflect the cluster and should be discarded", runName));
+        }
+    }
+
+    /**
+     * Records the CPU time and allocations of every live thread
+     *
+     * @param cpuStart The map receiving the initial CPU times, or null if not taking the initial measurements
+     * @param allocatedStart The map receiving the initial allocations, or null if not taking the initial measurements
+     */
+    private void sampleThreads(final Map<Long, Long> cpuStart, final Map<Long, Long> allocatedStart) {
+        final boolean cpuSupported = threads.isThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+        final com.sun.management.ThreadMXBean hotspotThreads = threads instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) threads : null;
+
+        for(final ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            // Threads that ended after their identifiers were listed have no information
+            if( info == null ) {
+                continue;
+            }
+
+            final long threadId = info.getThreadId();
+            threadNames.put(threadId, info.getThreadName());
+
+            if( cpuSupported ) {
+                final long cpu = threads.getThreadCpuTime(threadId);
+                if( cpu >= 0 ) {
+                    recordSample(threadId, cpu, cpuStart, lastCpu);
+                }
+            }
+
+            if( hotspotThreads != null && hotspotThreads.isThreadAllocatedMemorySupported() && hotspotThreads.isThreadAllocatedMemoryEnabled() ) {
+                final long allocated = hotspotThreads.getThreadAllocatedBytes(threadId);
+                if( allocated >= 0 ) {
+                    recordSample(threadId, allocated, allocatedStart, lastAllocated);
+                }
+            }
+        }
+    }
+
+    private static void recordSample(final long threadId, final long value, final Map<Long, Long> start, final Map<Long, Long> last) {
+        if( start != null ) {
+            start.put(threadId, value);
+        }
+        last.put(threadId, value);
+    }
+
+    /**
+     * @return True for the threads running the tests and the helper threads working for them
+     */
+    private static boolean isWorkerThread(final String name) {
+        return name.contains(RUNNER_THREAD_SUFFIX) || name.contains(WorkerThreadFactory.THREAD_NAME_MARKER);
+    }
+
+    private static boolean isHBaseClientThread(final String name) {
+        for(final String prefix : HBASE_CLIENT_THREAD_PREFIXES) {
+            if( name.startsWith(prefix) ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private long getProcessCpuTime() {
+        if( os instanceof com.sun.management.OperatingSystemMXBean ) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+
+        return 0;
+    }
+
+    /**
+     * @return The heap in use after the most recent collection of each heap pool, in bytes
+     */
+    private static long getHeapAfterGc() {
+        long used = 0;
+        for(final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            final MemoryUsage afterGc = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if( afterGc != null ) {
+                used += afterGc.getUsed();
+            }
+        }
+
+        return used;
+    }
+
+    private static long valueOrZero(final Map<?, Long> values, final Object key) {
+        final Long value = values.get(key);
+        return value == null ? 0 : value;
+    }
+
+    private static double percentOf(final long nanos, final long elapsedNanos) {
+        return nanos * 100.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,208 @@
+package bench;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.ClusterStatus;
+import org.apache.hadoop.hbase.HServerLoad;
+import org.apache.hadoop.hbase.HServerLoad.RegionLoad;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.client.HBaseAdmin;
+import org.apache.log4j.Logger;
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+
+import bench.results.ClusterMetrics;
+import bench.results.ServerMetrics;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Measures the load of the RegionServers during one execution of a test from the
+ * {@link ClusterStatus} reported to the master, so that client latencies can be
+ * correlated with the state of the cluster.
+ * <p>
+ * RegionServers report their load to the master on every heartbeat, so a snapshot may
+ * lag the actual state of a server by a few seconds.  The block cache hit ratio and the
+ * compaction queue length are not part of the reported load and are read on a best
+ * effort basis from the JMX servlet of each RegionServer; they are reported as -1 when
+ * the servlet can not be reached.
+ */
+public final class ClusterMonitor {
+    private static final Logger log = Logger.getLogger(ClusterMonitor.class);
+
+    private static final String INFO_PORT_KEY = "hbase.regionserver.info.port";
+    private static final int DEFAULT_INFO_PORT = 60030;
+    private static final String STATISTICS_QUERY = "/jmx?qry=hadoop:service=RegionServer,name=RegionServerStatistics";
+    private static final int JMX_TIMEOUT_MS = 2000;
+
+    private final Configuration config;
+    private final String regionPrefix;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private Map<ServerName, HServerLoad> startLoad;
+
+    /**
+     *
+     *
+     * @param conf The HBase configuration used to reach the cluster
+     * @param tableName The name of the table used by the test
+     */
+    public ClusterMonitor(final Configuration conf, final String tableName) {
+        config = conf;
+        regionPrefix = tableName + ",";
+    }
+
+    /**
+     * Takes the snapshot at the start of an execution
+     */
+    public void start() {
+        startLoad = snapshot();
+    }
+
+    /**
+     * Takes the snapshot at the end of an execution and computes the load of each server
+     *
+     * @param runName The name of the execution, used when reporting
+     * @return The load of the cluster during the execution, or null if it could not be read
+     */
+    public ClusterMetrics finish(final String runName) {
+        final Map<ServerName, HServerLoad> endLoad = snapshot();
+        if( startLoad == null || endLoad == null ) {
+            return null;
+        }
+
+        final Map<String, ServerMetrics> servers = Maps.newTreeMap();
+        long totalRequests = 0;
+        long maxRequests = 0;
+
+        for(final Map.Entry<ServerName, HServerLoad> entry : endLoad.entrySet()) {
+            final ServerMetrics metrics = measureServer(entry.getKey(), startLoad.get(entry.getKey()), entry.getValue());
+
+            servers.put(entry.getKey().getHostAndPort(), metrics);
+            totalRequests += metrics.getTableRequests();
+            maxRequests = Math.max(maxRequests, metrics.getTableRequests());
+        }
+
+        // The ratio of the busiest server to the mean, 1 when the load is perfectly even
+        final double skew = totalRequests == 0 ? 0 : maxRequests * servers.size() / (double) totalRequests;
+        final ClusterMetrics metrics = new ClusterMetrics(servers, skew);
+
+        report(runName, metrics);
+
+        return metrics;
+    }
+
+    private ServerMetrics measureServer(final ServerName server, final HServerLoad before, final HServerLoad after) {
+        final Map<String, RegionLoad> beforeRegions = tableRegions(before);
+        long readRequests = 0;
+        long writeRequests = 0;
+
+        for(final Map.Entry<String, RegionLoad> region : tableRegions(after).entrySet()) {
+            // A region opened during the execution started counting from zero
+            final RegionLoad previous = beforeRegions.get(region.getKey());
+            readRequests += region.getValue().getReadRequestsCount() - (previous == null ? 0 : previous.getReadRequestsCount());
+            writeRequests += region.getValue().getWriteRequestsCount() - (previous == null ? 0 : previous.getWriteRequestsCount());
+        }
+
+        final long serverRequests = after.getTotalNumberOfRequests() - (before == null ? 0 : before.getTotalNumberOfRequests());
+        final JsonNode statistics = readStatistics(server);
+
+        return new ServerMetrics(Math.max(0, readRequests), Math.max(0, writeRequests), Math.max(0, serverRequests),
+                after.getMemStoreSizeInMB(), after.getMemStoreSizeInMB() - (before == null ? 0 : before.getMemStoreSizeInMB()),
+                after.getStorefiles(), after.getStorefiles() - (before == null ? 0 : before.getStorefiles()),
+                after.getStorefileSizeInMB(), after.getStorefileSizeInMB() - (before == null ? 0 : before.getStorefileSizeInMB()),
+                statistics == null ? -1 : statistics.path("blockCacheHitRatio").asDouble(-1),
+                statistics == null ? -1 : statistics.path("compactionQueueSize").asLong(-1));
+    }
+
+    private void report(final String runName, final ClusterMetrics metrics) {
+        log.info(format("%s cluster load across %d RegionServers, request skew %.2f (busiest server / mean)", runName,
+                metrics.getServers().size(), metrics.getRequestSkew()));
+
+        for(final Map.Entry<String, ServerMetrics> entry : metrics.getServers().entrySet()) {
+            final ServerMetrics server = entry.getValue();
+            log.info(format("  %s: table requests %d (%d reads, %d writes), all requests %d, memstore %d MB (%+d), storefiles %d (%+d) %d MB (%+d), block cache hit ratio %s, compaction queue %s",
+                    entry.getKey(), server.getTableRequests(), server.getTableReadRequests(), server.getTableWriteRequests(),
+                    server.getServerRequests(), server.getMemstoreSizeMB(), server.getMemstoreSizeDeltaMB(), server.getStorefiles(),
+                    server.getStorefilesDelta(), server.getStorefileSizeMB(), server.getStorefileSizeDeltaMB(),
+                    server.getBlockCacheHitRatio() < 0 ? "n/a" : server.getBlockCacheHitRatio() + "%",
+                    server.getCompactionQueueLength() < 0 ? "n/a" : String.valueOf(server.getCompactionQueueLength())));
+        }
+    }
+
+    /**
+     * @return The load of each live RegionServer, or null if the cluster status could not be read
+     */
+    private Map<ServerName, HServerLoad> snapshot() {
+        HBaseAdmin admin = null;
+
+        try {
+            admin = new HBaseAdmin(config);
+            final ClusterStatus status = admin.getClusterStatus();
+
+            final Map<ServerName, HServerLoad> load = Maps.newHashMap();
+            for(final ServerName server : status.getServers()) {
+                load.put(server, status.getLoad(server));
+            }
+
+            return load;
+        } catch (IOException e) {
+            log.warn("Unable to read the cluster status", e);
+            return null;
+        } finally {
+            IOUtils.closeQuietly(admin);
+        }
+    }
+
+    /**
+     * @return The load of the regions of the tool table, keyed by region name
+     */
+    private Map<String, RegionLoad> tableRegions(final HServerLoad load) {
+        final Map<String, RegionLoad> regions = Maps.newHashMap();
+        if( load == null ) {
+            return regions;
+        }
+
+        for(final RegionLoad region : load.getRegionsLoad().values()) {
+            if( region.getNameAsString().startsWith(regionPrefix) ) {
+                regions.put(region.getNameAsString(), region);
+            }
+        }
+
+        return regions;
+    }
+
+    /**
+     * Reads the RegionServer statistics exported through the JMX servlet of a server
+     *
+     * @return The statistics bean, or null if it could not be read
+     */
+    private JsonNode readStatistics(final ServerName server) {
+        InputStream in = null;
+
+        try {
+            final URL url = new URL("http", server.getHostname(), config.getInt(INFO_PORT_KEY, DEFAULT_INFO_PORT), STATISTICS_QUERY);
+            final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(JMX_TIMEOUT_MS);
+            connection.setReadTimeout(JMX_TIMEOUT_MS);
+
+            in = connection.getInputStream();
+            final JsonNode beans = mapper.readTree(in).path("beans");
+
+            return beans.size() > 0 ? beans.get(0) : null;
+        } catch (IOException e) {
+            log.debug("Unable to read the statistics of " + server.getHostname(), e);
+            return null;
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package bench;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.log4j.Logger;
+
+import bench.tests.OperationTimer;
+import bench.tests.PerformanceTest;
+import config.Config;
+
+
+/**
+ * Responsible for running a single execution of a {@link PerformanceTest} in a
+ * separate {@link Thread}
+ */
+public final class CountedTestRunner implements Runnable {
+    private static final Logger log = Logger.getLogger(CountedTestRunner.class);
+
+    private final PerformanceTest test;
+    private final HTableInterface table;
+    private final Config appConfig;
+    private final DescriptiveStatistics testStats;
+    private final OperationTimer operationTimer;
+    private final CountDownLatch doneLatch;
+
+    /**
+     *
+     *
+     * @param tableConn The connection used to communicate with the HBase table, not null
+     * @param perfTest The test to run, not null
+     * @param config The application configuration for the test to use, not null
+     * @param stats The statistics container used to collect a metric from the test, not null
+     * @param timer The timer used to pace and measure the operations of the test, not null
+     * @param latch The latch used to signal the completion of the test, not null
+     */
+    public CountedTestRunner(final HTableInterface tableConn, final PerformanceTest perfTest, final Config config,
+            final DescriptiveStatistics stats, final OperationTimer timer, final CountDownLatch latch) {
+        checkNotNull(tableConn);
+        checkNotNull(perfTest);
+        checkNotNull(config);
+        checkNotNull(stats);
+        checkNotNull(timer);
+        checkNotNull(latch);
+
+        table = tableConn;
+        test = perfTest;
+        appConfig = config;
+        testStats = stats;
+        operationTimer = timer;
+        doneLatch = latch;
+    }
+
+
+    @Override
+    public void run() {
+        try {
+            test.runTest(table, appConfig, testStats, operationTimer);
+        } catch (RuntimeException e) {
+            log.error("Error occurred during the test execution", e);
+            operationTimer.fail();
+        } finally {
+            // Signal that the thread is finished running the test
+            doneLatch.countDown();
+        }
+    }
+}
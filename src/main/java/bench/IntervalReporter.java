@@ -0,0 +1,84 @@
+package bench;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import util.LatencyHistogram;
+
+/**
+ * Reports the progress of a running test every fixed number of seconds: the throughput
+ * and latency percentiles of the operations completed since the previous report and the
+ * cumulative number of operations.  The samples taken by an {@link IntervalSampler} are
+ * accumulated until the report is due, so the reporter only runs on the sampler thread.
+ */
+public final class IntervalReporter {
+    private static final Logger log = Logger.getLogger(IntervalReporter.class);
+
+    private final long reportNanos;
+    private final LatencyHistogram reportLatency = new LatencyHistogram();
+    private long reportOperations = 0;
+    private long reportStart = -1;
+
+    /**
+     *
+     *
+     * @param reportSeconds The time between reports, in seconds, positive
+     */
+    public IntervalReporter(final int reportSeconds) {
+        checkArgument(reportSeconds > 0, "The report interval must be positive");
+
+        reportNanos = TimeUnit.SECONDS.toNanos(reportSeconds);
+    }
+
+    /**
+     * Adds the operations completed during a sampling interval, reporting if the report
+     * interval has passed
+     *
+     * @param intervalStart The time at which the sampling interval started, in nanoseconds
+     * @param now The time at which the sampling interval ended, in nanoseconds
+     * @param intervalOperations The number of operations completed during the sampling interval
+     * @param totalOperations The number of operations completed since the start of the run
+     * @param intervalLatency The latencies of the operations completed during the sampling interval
+     */
+    public void addInterval(final long intervalStart, final long now, final long intervalOperations, final long totalOperations,
+            final LatencyHistogram intervalLatency) {
+        if( reportStart < 0 ) {
+            reportStart = intervalStart;
+        }
+
+        reportOperations += intervalOperations;
+        reportLatency.add(intervalLatency);
+
+        if( now - reportStart >= reportNanos ) {
+            report(now, totalOperations);
+        }
+    }
+
+    /**
+     * Reports the operations completed since the previous report, if any
+     *
+     * @param now The current time, in nanoseconds
+     * @param totalOperations The number of operations completed since the start of the run
+     */
+    public void flush(final long now, final long totalOperations) {
+        if( reportStart >= 0 && now > reportStart ) {
+            report(now, totalOperations);
+        }
+    }
+
+    private void report(final long now, final long totalOperations) {
+        final double seconds = (now - reportStart) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        log.info(format("Interval: %.2f ops/sec, cumulative: %d ops, latency (us) p50: %d, p99: %d, max: %d",
+                reportOperations / seconds, totalOperations, reportLatency.getPercentile(50),
+                reportLatency.getPercentile(99), reportLatency.getMax()));
+
+        reportStart = now;
+        reportOperations = 0;
+        reportLatency.reset();
+    }
+}
@@ -0,0 +1,155 @@
+package bench;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import util.LatencyHistogram;
+import bench.results.IntervalSample;
+import bench.results.LatencySummary;
+import bench.tests.OperationTimer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Samples the throughput and latency of the client threads at a fixed interval while a
+ * test runs, using a separate {@link Thread}.  The timers of the client threads are only
+ * read, so sampling does not slow the operations being measured.  Every sample may also
+ * be passed to an {@link IntervalReporter} to report the progress of the test live, and
+ * the sampler thread also drives the periodic sampling of a {@link ClientResourceMonitor}.
+ */
+public final class IntervalSampler implements Runnable {
+    private static final Logger log = Logger.getLogger(IntervalSampler.class);
+
+    private final List<OperationTimer> timers;
+    private final long intervalMillis;
+    private final List<IntervalSample> samples = Lists.newArrayList();
+    private final LatencyHistogram intervalLatency = new LatencyHistogram();
+    private final IntervalReporter reporter;
+    private final ClientResourceMonitor monitor;
+
+    private Thread samplerThread;
+    private volatile boolean running = false;
+    private long startTime;
+    private long lastSampleTime;
+    private long lastOperations = 0;
+
+    /**
+     *
+     *
+     * @param clientTimers The timers used by the client threads, not null
+     * @param interval The time between samples, in milliseconds, positive
+     * @param intervalReporter The reporter receiving every sample, or null to sample silently
+     * @param resourceMonitor The monitor of the client resources to sample, or null
+     */
+    public IntervalSampler(final List<OperationTimer> clientTimers, final long interval, final IntervalReporter intervalReporter,
+            final ClientResourceMonitor resourceMonitor) {
+        checkNotNull(clientTimers);
+        checkArgument(interval > 0, "The sampling interval must be positive");
+
+        timers = ImmutableList.copyOf(clientTimers);
+        intervalMillis = interval;
+        reporter = intervalReporter;
+        monitor = resourceMonitor;
+    }
+
+    /**
+     * Starts sampling on a new thread
+     */
+    public void start() {
+        startTime = System.nanoTime();
+        lastSampleTime = startTime;
+        running = true;
+
+        samplerThread = new Thread(this, getClass().getSimpleName() + " Thread");
+        samplerThread.setDaemon(true);
+        samplerThread.start();
+    }
+
+    /**
+     * Stops sampling, taking a final sample of the partial interval since the last one
+     */
+    public void stop() {
+        running = false;
+        samplerThread.interrupt();
+
+        try {
+            samplerThread.join();
+        } catch (InterruptedException e) {
+            // Restore the interrupted status
+            Thread.currentThread().interrupt();
+
+            log.error("Waiting for the interval sampler to finish was interrupted", e);
+        }
+
+        sample();
+
+        if( reporter != null ) {
+            reporter.flush(lastSampleTime, lastOperations);
+        }
+    }
+
+    @Override
+    public void run() {
+        long nextSample = startTime;
+
+        while( running ) {
+            nextSample += TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(nextSample - System.nanoTime());
+            } catch (InterruptedException e) {
+                // Interruption only signals that sampling should stop
+                break;
+            }
+
+            sample();
+
+            if( monitor != null ) {
+                monitor.sample();
+            }
+        }
+    }
+
+    /**
+     * Records the throughput and latency of the operations completed since the last sample
+     */
+    private void sample() {
+        final long now = System.nanoTime();
+
+        long operations = 0;
+        intervalLatency.reset();
+        for(final OperationTimer timer : timers) {
+            operations += timer.getCompletedCount();
+            timer.getIntervalLatency().harvestInto(intervalLatency);
+        }
+
+        final long intervalNanos = now - lastSampleTime;
+        if( intervalNanos <= 0 ) {
+            return;
+        }
+
+        final long intervalOperations = operations - lastOperations;
+        samples.add(new IntervalSample(TimeUnit.NANOSECONDS.toMillis(now - startTime), intervalOperations,
+                intervalOperations / (intervalNanos / (double) TimeUnit.SECONDS.toNanos(1)), LatencySummary.of(intervalLatency)));
+
+        if( reporter != null ) {
+            reporter.addInterval(lastSampleTime, now, intervalOperations, operations, intervalLatency);
+        }
+
+        lastSampleTime = now;
+        lastOperations = operations;
+    }
+
+    /**
+     * @return The samples taken so far, to be read only after sampling has stopped
+     */
+    public List<IntervalSample> getSamples() {
+        return samples;
+    }
+}
@@ -0,0 +1,77 @@
+package bench;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Decides when a test has reached a steady state by watching the throughput measured
+ * over consecutive fixed intervals.  The test is considered steady once the coefficient
+ * of variation (standard deviation relative to the mean) of the most recent window of
+ * interval throughputs falls below a threshold.
+ */
+public final class SteadyStateDetector {
+    private final double[] window;
+    private final double maxVariation;
+    private int samples = 0;
+
+    /**
+     *
+     *
+     * @param windowSize The number of consecutive intervals that must be steady, greater than one
+     * @param maxVariationPercent The largest coefficient of variation considered steady, as a percentage, positive
+     */
+    public SteadyStateDetector(final int windowSize, final double maxVariationPercent) {
+        checkArgument(windowSize > 1, "The steady state window must contain more than one interval");
+        checkArgument(maxVariationPercent > 0, "The steady state variation threshold must be positive");
+
+        window = new double[windowSize];
+        maxVariation = maxVariationPercent / 100;
+    }
+
+    /**
+     * Adds the throughput measured over the latest interval
+     *
+     * @param throughput The number of operations completed per second during the interval
+     */
+    public void addInterval(final double throughput) {
+        window[samples % window.length] = throughput;
+        samples++;
+    }
+
+    /**
+     * @return True if the throughput of the most recent intervals has settled
+     */
+    public boolean isSteady() {
+        if( samples < window.length ) {
+            return false;
+        }
+
+        return getVariation() <= maxVariation;
+    }
+
+    /**
+     * @return The coefficient of variation of the most recent intervals
+     */
+    public double getVariation() {
+        final int count = Math.min(samples, window.length);
+        if( count == 0 ) {
+            return Double.NaN;
+        }
+
+        double sum = 0;
+        for(int index = 0; index < count; index++) {
+            sum += window[index];
+        }
+
+        final double mean = sum / count;
+        if( mean == 0 ) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double squares = 0;
+        for(int index = 0; index < count; index++) {
+            squares += (window[index] - mean) * (window[index] - mean);
+        }
+
+        return Math.sqrt(squares / count) / mean;
+    }
+}
@@ -7,7 +7,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.log4j.Logger;
 
+import bench.tests.OperationTimer;
 import bench.tests.PerformanceTest;
 import config.Config;
 
@@ -17,12 +19,15 @@ import config.Config;
  * until being signaled to complete
  */
 public final class TimedTestRunner implements Runnable {
+    private static final Logger log = Logger.getLogger(TimedTestRunner.class);
+
     private final AtomicBoolean finished = new AtomicBoolean(false);
 
     private final PerformanceTest test;
     private final HTableInterface table;
     private final Config appConfig;
     private final DescriptiveStatistics testStats;
+    private final OperationTimer operationTimer;
     private final CountDownLatch doneLatch;
 
     /**
@@ -32,20 +37,23 @@ public final class TimedTestRunner implements Runnable {
      * @param perfTest The test to run, not null
      * @param config The application configuration for the test to use, not null
      * @param stats The statistics container used to collect a metric from the test, not null
+     * @param timer The timer used to pace and measure the operations of the test, not null
      * @param latch The latch used to signal the completion of the test, not null
      */
     public TimedTestRunner(final HTableInterface tableConn, final PerformanceTest perfTest, final Config config,
-            final DescriptiveStatistics stats, final CountDownLatch latch) {
+            final DescriptiveStatistics stats, final OperationTimer timer, final CountDownLatch latch) {
         checkNotNull(tableConn);
         checkNotNull(perfTest);
         checkNotNull(config);
         checkNotNull(stats);
+        checkNotNull(timer);
         checkNotNull(latch);
 
         table = tableConn;
         test = perfTest;
         appConfig = config;
         testStats = stats;
+        operationTimer = timer;
         doneLatch = latch;
     }
 
@@ -55,7 +63,13 @@ public final class TimedTestRunner implements Runnable {
         try {
             // Run the test until instructed to finish
             while(!finished.get()) {
-                test.runTest(table, appConfig, testStats);
+                try {
+                    test.runTest(table, appConfig, testStats, operationTimer);
+                } catch (RuntimeException e) {
+                    // A failed execution must not end the worker, or the remaining workers would be measured alone
+                    log.error("Error occurred during a test execution", e);
+                    operationTimer.fail();
+                }
             }
         } finally {
             // Signal that the thread is finished running test executions
@@ -0,0 +1,54 @@
+package bench.results;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+
+import config.Config;
+
+/**
+ * Everything measured by one invocation of the benchmark, along with the configuration
+ * and environment it ran in
+ */
+public final class BenchmarkResults {
+    private final Config config;
+    private final Map<String, Object> environment;
+    private final List<RunResult> runs = Lists.newArrayList();
+    private RunResult total;
+
+    /**
+     *
+     *
+     * @param appConfig The application configuration of the benchmark
+     * @param environmentInfo The description of the environment the benchmark ran in
+     */
+    public BenchmarkResults(final Config appConfig, final Map<String, Object> environmentInfo) {
+        config = appConfig;
+        environment = environmentInfo;
+    }
+
+    public void addRun(final RunResult run) {
+        runs.add(run);
+    }
+
+    public void setTotal(final RunResult allRuns) {
+        total = allRuns;
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    public Map<String, Object> getEnvironment() {
+        return environment;
+    }
+
+    public List<RunResult> getRuns() {
+        return runs;
+    }
+
+    public RunResult getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,99 @@
+package bench.results;
+
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Resource usage of the benchmark client JVM measured over one execution of a test.
+ * CPU figures are percentages of a single core, so a fully busy client on a machine
+ * with N cores reports N * 100% of process CPU.
+ */
+public final class ClientMetrics {
+    private final double processCpuPercent;
+    private final double workerCpuPercent;
+    private final double maxWorkerCpuPercent;
+    private final double hbaseClientCpuPercent;
+    private final Map<String, Long> gcCount;
+    private final Map<String, Long> gcTimeMillis;
+    private final double gcTimePercent;
+    private final long heapAfterGcBytes;
+    private final double allocationBytesPerSecond;
+    private final boolean cpuBound;
+    private final boolean gcBound;
+
+    /**
+     *
+     *
+     * @param processCpu The CPU used by the whole process
+     * @param workerCpu The CPU used by all of the client threads running the test
+     * @param maxWorkerCpu The CPU used by the busiest client thread running the test
+     * @param hbaseClientCpu The CPU used by the threads of the HBase client
+     * @param collections The number of collections of each garbage collector
+     * @param collectionTimes The time spent collecting by each garbage collector, in milliseconds
+     * @param gcPercent The time spent collecting as a percentage of the execution time
+     * @param heapAfterGc The heap in use after the most recent collection, in bytes
+     * @param allocationRate The number of bytes allocated per second
+     * @param clientCpuBound True if the client was limited by CPU
+     * @param clientGcBound True if the client was limited by garbage collection
+     */
+    public ClientMetrics(final double processCpu, final double workerCpu, final double maxWorkerCpu, final double hbaseClientCpu,
+            final Map<String, Long> collections, final Map<String, Long> collectionTimes, final double gcPercent,
+            final long heapAfterGc, final double allocationRate, final boolean clientCpuBound, final boolean clientGcBound) {
+        processCpuPercent = processCpu;
+        workerCpuPercent = workerCpu;
+        maxWorkerCpuPercent = maxWorkerCpu;
+        hbaseClientCpuPercent = hbaseClientCpu;
+        gcCount = ImmutableMap.copyOf(collections);
+        gcTimeMillis = ImmutableMap.copyOf(collectionTimes);
+        gcTimePercent = gcPercent;
+        heapAfterGcBytes = heapAfterGc;
+        allocationBytesPerSecond = allocationRate;
+        cpuBound = clientCpuBound;
+        gcBound = clientGcBound;
+    }
+
+    public double getProcessCpuPercent() {
+        return processCpuPercent;
+    }
+
+    public double getWorkerCpuPercent() {
+        return workerCpuPercent;
+    }
+
+    public double getMaxWorkerCpuPercent() {
+        return maxWorkerCpuPercent;
+    }
+
+    public double getHbaseClientCpuPercent() {
+        return hbaseClientCpuPercent;
+    }
+
+    public Map<String, Long> getGcCount() {
+        return gcCount;
+    }
+
+    public Map<String, Long> getGcTimeMillis() {
+        return gcTimeMillis;
+    }
+
+    public double getGcTimePercent() {
+        return gcTimePercent;
+    }
+
+    public long getHeapAfterGcBytes() {
+        return heapAfterGcBytes;
+    }
+
+    public double getAllocationBytesPerSecond() {
+        return allocationBytesPerSecond;
+    }
+
+    public boolean isCpuBound() {
+        return cpuBound;
+    }
+
+    public boolean isGcBound() {
+        return gcBound;
+    }
+}
@@ -0,0 +1,33 @@
+package bench.results;
+
+import java.util.Map;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+/**
+ * The load of the RegionServers during one execution of a test, along with how unevenly
+ * the requests for the tool table were spread across them
+ */
+public final class ClusterMetrics {
+    private final Map<String, ServerMetrics> servers;
+    private final double requestSkew;
+
+    /**
+     *
+     *
+     * @param serverMetrics The load of each RegionServer, keyed by server name
+     * @param skew The ratio of the most tool table requests served by one server to the mean
+     */
+    public ClusterMetrics(final Map<String, ServerMetrics> serverMetrics, final double skew) {
+        servers = ImmutableSortedMap.copyOf(serverMetrics);
+        requestSkew = skew;
+    }
+
+    public Map<String, ServerMetrics> getServers() {
+        return servers;
+    }
+
+    public double getRequestSkew() {
+        return requestSkew;
+    }
+}
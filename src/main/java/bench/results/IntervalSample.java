@@ -0,0 +1,42 @@
+package bench.results;
+
+/**
+ * The throughput and latency of the operations completed during one sampling interval
+ */
+public final class IntervalSample {
+    private final long elapsedMillis;
+    private final long operations;
+    private final double operationsPerSecond;
+    private final LatencySummary latency;
+
+    /**
+     *
+     *
+     * @param elapsed The time from the start of the run to the end of the interval, in milliseconds
+     * @param intervalOperations The number of operations completed during the interval
+     * @param rate The number of operations completed per second during the interval
+     * @param intervalLatency The latencies of the operations completed during the interval
+     */
+    public IntervalSample(final long elapsed, final long intervalOperations, final double rate, final LatencySummary intervalLatency) {
+        elapsedMillis = elapsed;
+        operations = intervalOperations;
+        operationsPerSecond = rate;
+        latency = intervalLatency;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public double getOperationsPerSecond() {
+        return operationsPerSecond;
+    }
+
+    public LatencySummary getLatency() {
+        return latency;
+    }
+}
@@ -0,0 +1,70 @@
+package bench.results;
+
+import util.LatencyHistogram;
+
+/**
+ * Immutable summary of the latencies recorded by a {@link LatencyHistogram}, in microseconds
+ */
+public final class LatencySummary {
+    private final long count;
+    private final long min;
+    private final double mean;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+    private final long max;
+
+    private LatencySummary(final LatencyHistogram histogram) {
+        count = histogram.getCount();
+        min = histogram.getMin();
+        mean = histogram.getMean();
+        p50 = histogram.getPercentile(50);
+        p90 = histogram.getPercentile(90);
+        p99 = histogram.getPercentile(99);
+        p999 = histogram.getPercentile(99.9);
+        max = histogram.getMax();
+    }
+
+    /**
+     * Summarizes the latencies currently recorded by a histogram
+     *
+     * @param histogram The histogram to summarize
+     * @return The summary
+     */
+    public static LatencySummary of(final LatencyHistogram histogram) {
+        return new LatencySummary(histogram);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMax() {
+        return max;
+    }
+}
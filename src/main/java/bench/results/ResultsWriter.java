@@ -0,0 +1,135 @@
+package bench.results;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.hadoop.hbase.util.VersionInfo;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.SerializationConfig;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Maps;
+
+/**
+ * Responsible for writing {@link BenchmarkResults} to a file, as JSON or, when the file
+ * name ends with {@value #CSV_EXTENSION}, as CSV with one row per interval and per run
+ */
+public abstract class ResultsWriter {
+    private static final String CSV_EXTENSION = ".csv";
+    private static final String CSV_HEADER = "type,run,elapsedMillis,operations,operationsPerSecond,"
+            + "failedOperations,failureRate,meanMicros,p50Micros,p90Micros,p99Micros,p999Micros,maxMicros";
+
+    private ResultsWriter() {
+
+    }
+
+    /**
+     * Describes the environment the benchmark is running in
+     *
+     * @return The description of the client host, JVM and HBase client
+     */
+    public static Map<String, Object> describeEnvironment() {
+        final RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        final Map<String, Object> environment = Maps.newLinkedHashMap();
+
+        String hostName;
+        try {
+            hostName = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            hostName = "unknown";
+        }
+
+        environment.put("host", hostName);
+        environment.put("startTime", runtime.getStartTime());
+        environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("vmName", runtime.getVmName());
+        environment.put("vmVersion", runtime.getVmVersion());
+        environment.put("vmArguments", runtime.getInputArguments());
+        environment.put("osName", System.getProperty("os.name"));
+        environment.put("osVersion", System.getProperty("os.version"));
+        environment.put("osArch", System.getProperty("os.arch"));
+        environment.put("hbaseVersion", VersionInfo.getVersion());
+
+        return environment;
+    }
+
+    /**
+     * Writes the results to a file, replacing any existing content
+     *
+     * @param results The results to write
+     * @param file The file to write, in CSV format if its name ends with {@value #CSV_EXTENSION}
+     * @throws IOException If the file could not be written
+     */
+    public static void write(final BenchmarkResults results, final File file) throws IOException {
+        if( file.getName().toLowerCase(Locale.ENGLISH).endsWith(CSV_EXTENSION) ) {
+            writeCsv(results, file);
+        } else {
+            writeJson(results, file);
+        }
+    }
+
+    private static void writeJson(final BenchmarkResults results, final File file) throws IOException {
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(SerializationConfig.Feature.INDENT_OUTPUT, true);
+
+        mapper.writeValue(file, results);
+    }
+
+    private static void writeCsv(final BenchmarkResults results, final File file) throws IOException {
+        final PrintWriter writer = new PrintWriter(file, Charsets.UTF_8.name());
+
+        try {
+            // The configuration and environment are kept as comments above the data
+            writer.println("# config: " + results.getConfig());
+            for(final Map.Entry<String, Object> entry : results.getEnvironment().entrySet()) {
+                writer.println(format("# %s: %s", entry.getKey(), entry.getValue()));
+            }
+
+            writer.println(CSV_HEADER);
+            for(final RunResult run : results.getRuns()) {
+                for(final IntervalSample interval : run.getIntervals()) {
+                    // Failures are only counted for whole runs
+                    writeCsvRow(writer, "interval", run.getRun(), interval.getElapsedMillis(), interval.getOperations(),
+                            interval.getOperationsPerSecond(), ",", interval.getLatency());
+                }
+
+                writeCsvRow(writer, "run", run.getRun(), run.getExecutionTimeMillis(), run.getOperations(),
+                        run.getOperationsPerSecond(), formatFailures(run), run.getLatency());
+            }
+
+            final RunResult total = results.getTotal();
+            if( total != null ) {
+                writeCsvRow(writer, "total", total.getRun(), total.getExecutionTimeMillis(), total.getOperations(),
+                        total.getOperationsPerSecond(), formatFailures(total), total.getLatency());
+            }
+        } finally {
+            writer.close();
+        }
+
+        if( writer.checkError() ) {
+            throw new IOException("Error occurred while writing " + file);
+        }
+    }
+
+    private static String formatFailures(final RunResult run) {
+        return format(Locale.ENGLISH, "%d,%.6f", run.getFailedOperations(), run.getFailureRate());
+    }
+
+    private static void writeCsvRow(final PrintWriter writer, final String type, final int run, final long elapsedMillis,
+            final long operations, final double operationsPerSecond, final String failures, final LatencySummary latency) {
+        writer.println(format(Locale.ENGLISH, "%s,%d,%d,%d,%.2f,%s,%.2f,%d,%d,%d,%d,%d", type, run, elapsedMillis, operations,
+                operationsPerSecond, failures, latency.getMean(), latency.getP50(), latency.getP90(), latency.getP99(),
+                latency.getP999(), latency.getMax()));
+    }
+}
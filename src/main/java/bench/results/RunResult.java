@@ -0,0 +1,115 @@
+package bench.results;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * The measurements of one execution of a test, or of all executions combined
+ */
+public final class RunResult {
+    private final int run;
+    private final long executionTimeMillis;
+    private final long operations;
+    private final long failedOperations;
+    private final double units;
+    private final LatencySummary latency;
+    private final LatencySummary correctedLatency;
+    private final Map<String, LatencySummary> operationLatency;
+    private final List<IntervalSample> intervals;
+    private final ClientMetrics clientMetrics;
+    private final ClusterMetrics clusterMetrics;
+
+    /**
+     *
+     *
+     * @param testRun The number of the execution, or 0 for all executions combined
+     * @param executionTime The time taken by the execution, in milliseconds
+     * @param completedOperations The number of operations completed
+     * @param failed The number of operations that failed
+     * @param testUnits The sum of the metric collected by the test
+     * @param rawLatency The latencies measured from the actual start of each operation
+     * @param corrected The latencies measured from the intended start of each operation
+     * @param perOperation The latencies of each type of operation
+     * @param samples The per-interval measurements, in order
+     * @param clientResources The resources used by the client, or null if not measured
+     * @param clusterLoad The load of the RegionServers, or null if not measured
+     */
+    public RunResult(final int testRun, final long executionTime, final long completedOperations, final long failed, final double testUnits,
+            final LatencySummary rawLatency, final LatencySummary corrected, final Map<String, LatencySummary> perOperation,
+            final List<IntervalSample> samples, final ClientMetrics clientResources, final ClusterMetrics clusterLoad) {
+        run = testRun;
+        executionTimeMillis = executionTime;
+        operations = completedOperations;
+        failedOperations = failed;
+        units = testUnits;
+        latency = rawLatency;
+        correctedLatency = corrected;
+        operationLatency = ImmutableMap.copyOf(perOperation);
+        intervals = ImmutableList.copyOf(samples);
+        clientMetrics = clientResources;
+        clusterMetrics = clusterLoad;
+    }
+
+    public int getRun() {
+        return run;
+    }
+
+    public long getExecutionTimeMillis() {
+        return executionTimeMillis;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public double getOperationsPerSecond() {
+        return executionTimeMillis == 0 ? 0 : operations * 1000.0 / executionTimeMillis;
+    }
+
+    public long getFailedOperations() {
+        return failedOperations;
+    }
+
+    /**
+     * @return The fraction of the attempted operations that failed, between 0 and 1
+     */
+    public double getFailureRate() {
+        final long attempted = operations + failedOperations;
+        return attempted == 0 ? 0 : failedOperations / (double) attempted;
+    }
+
+    public double getUnits() {
+        return units;
+    }
+
+    public double getUnitsPerSecond() {
+        return executionTimeMillis == 0 ? 0 : units * 1000.0 / executionTimeMillis;
+    }
+
+    public LatencySummary getLatency() {
+        return latency;
+    }
+
+    public LatencySummary getCorrectedLatency() {
+        return correctedLatency;
+    }
+
+    public Map<String, LatencySummary> getOperationLatency() {
+        return operationLatency;
+    }
+
+    public List<IntervalSample> getIntervals() {
+        return intervals;
+    }
+
+    public ClientMetrics getClientMetrics() {
+        return clientMetrics;
+    }
+
+    public ClusterMetrics getClusterMetrics() {
+        return clusterMetrics;
+    }
+}
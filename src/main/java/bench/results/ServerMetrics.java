@@ -0,0 +1,100 @@
+package bench.results;
+
+/**
+ * The load of one RegionServer at the end of an execution of a test and its change since
+ * the start of the execution.  Figures that could not be read are reported as -1.
+ */
+public final class ServerMetrics {
+    private final long tableRequests;
+    private final long tableReadRequests;
+    private final long tableWriteRequests;
+    private final long serverRequests;
+    private final int memstoreSizeMB;
+    private final int memstoreSizeDeltaMB;
+    private final int storefiles;
+    private final int storefilesDelta;
+    private final int storefileSizeMB;
+    private final int storefileSizeDeltaMB;
+    private final double blockCacheHitRatio;
+    private final long compactionQueueLength;
+
+    /**
+     *
+     *
+     * @param readRequests The read requests served for the tool table during the execution
+     * @param writeRequests The write requests served for the tool table during the execution
+     * @param allRequests The requests served for all tables during the execution
+     * @param memstoreSize The size of the memstores at the end of the execution, in MB
+     * @param memstoreDelta The change in the size of the memstores, in MB
+     * @param storefileCount The number of store files at the end of the execution
+     * @param storefileCountDelta The change in the number of store files
+     * @param storefileSize The size of the store files at the end of the execution, in MB
+     * @param storefileSizeDelta The change in the size of the store files, in MB
+     * @param hitRatio The block cache hit ratio at the end of the execution, as a percentage
+     * @param compactionQueue The length of the compaction queue at the end of the execution
+     */
+    public ServerMetrics(final long readRequests, final long writeRequests, final long allRequests, final int memstoreSize,
+            final int memstoreDelta, final int storefileCount, final int storefileCountDelta, final int storefileSize,
+            final int storefileSizeDelta, final double hitRatio, final long compactionQueue) {
+        tableRequests = readRequests + writeRequests;
+        tableReadRequests = readRequests;
+        tableWriteRequests = writeRequests;
+        serverRequests = allRequests;
+        memstoreSizeMB = memstoreSize;
+        memstoreSizeDeltaMB = memstoreDelta;
+        storefiles = storefileCount;
+        storefilesDelta = storefileCountDelta;
+        storefileSizeMB = storefileSize;
+        storefileSizeDeltaMB = storefileSizeDelta;
+        blockCacheHitRatio = hitRatio;
+        compactionQueueLength = compactionQueue;
+    }
+
+    public long getTableRequests() {
+        return tableRequests;
+    }
+
+    public long getTableReadRequests() {
+        return tableReadRequests;
+    }
+
+    public long getTableWriteRequests() {
+        return tableWriteRequests;
+    }
+
+    public long getServerRequests() {
+        return serverRequests;
+    }
+
+    public int getMemstoreSizeMB() {
+        return memstoreSizeMB;
+    }
+
+    public int getMemstoreSizeDeltaMB() {
+        return memstoreSizeDeltaMB;
+    }
+
+    public int getStorefiles() {
+        return storefiles;
+    }
+
+    public int getStorefilesDelta() {
+        return storefilesDelta;
+    }
+
+    public int getStorefileSizeMB() {
+        return storefileSizeMB;
+    }
+
+    public int getStorefileSizeDeltaMB() {
+        return storefileSizeDeltaMB;
+    }
+
+    public double getBlockCacheHitRatio() {
+        return blockCacheHitRatio;
+    }
+
+    public long getCompactionQueueLength() {
+        return compactionQueueLength;
+    }
+}
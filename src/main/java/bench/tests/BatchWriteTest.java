@@ -2,14 +2,21 @@ package bench.tests;
 
 import static java.lang.String.format;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.apache.hadoop.hbase.client.HTableInterface;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.log4j.Logger;
 
+import util.LatencyHistogram;
 import util.Utils;
+import util.WorkerThreadFactory;
+import util.keys.InsertedRows;
 
 import com.google.common.collect.Lists;
 import com.nearinfinity.honeycomb.hbase.HBaseOperations;
@@ -17,56 +24,155 @@ import com.nearinfinity.honeycomb.hbase.HBaseOperations;
 import config.Config;
 
 /**
- * Represents a "batch" write test in that all {@link Put} objects are stored in
- * memory and written at one time to allow HBase to batch the writes
+ * Represents a "batch" write test in that {@link Put} objects are generated by a
+ * separate thread into a bounded queue of chunks, each of which is written at one time
+ * to allow HBase to batch the writes.  Client memory use depends only on the chunk size,
+ * not on the total number of rows.
  */
 public final class BatchWriteTest implements PerformanceTest {
     private static final Logger log = Logger.getLogger(BatchWriteTest.class);
 
-    @Override
-    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats) {
-        final long rowCount = appConfig.getRowCount();
-        final List<Put> puts = Lists.newArrayList();
-        long totalGenTime = 0;
-        long startTime = 0;
-
-        log.info(format("Preparing %d rows...", rowCount));
-
-        // Create the specified number of rows
-        for(long index = 1; index <= rowCount; index++) {
-            startTime = System.currentTimeMillis();
-
-            // Create a row with an increasing rowkey
-            final Put p = Utils.createPut(Utils.generateRowKey(puts.size()), Utils.generateRowValue());
-            p.setWriteToWAL(appConfig.isWALEnabled());
+    /**
+     * The number of generated chunks that may wait to be written
+     */
+    private static final int QUEUED_CHUNKS = 4;
 
-            puts.add(p);
+    /**
+     * Marks the end of the generated chunks
+     */
+    private static final Chunk END_OF_CHUNKS = new Chunk(Collections.<Put>emptyList(), -1, 0);
 
-            // Output a progress message
-            if( index % appConfig.getBatchSize() == 0 ) {
-                log.info(format("Prepared %d / %d rows for writing", puts.size(), rowCount));
+    @Override
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        final long rowCount = appConfig.getRowCount();
+        final BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<Chunk>(QUEUED_CHUNKS);
+        final LatencyHistogram generationTimes = new LatencyHistogram();
+        final LatencyHistogram writeTimes = new LatencyHistogram();
+
+        // The generator must never keep the JVM alive once the writer has stopped
+        final Thread generator = new WorkerThreadFactory(ChunkGenerator.class.getSimpleName(), true)
+                .newThread(new ChunkGenerator(appConfig, chunks));
+        generator.start();
+
+        log.info(format("Writing %d rows in chunks of %d...", rowCount, appConfig.getWriteBatch()));
+
+        long writtenRows = 0;
+        long chunkCount = 0;
+        long batchCount = 0;
+
+        try {
+            for(Chunk chunk = chunks.take(); chunk != END_OF_CHUNKS; chunk = chunks.take()) {
+                // Insert the chunk with batching occurring during insertion
+                timer.begin();
+                try {
+                    HBaseOperations.performPut(table, chunk.puts);
+
+                    if( !appConfig.isAutoFlushEnabled() ) {
+                        HBaseOperations.performFlush(table);
+                    }
+                } catch (RuntimeException e) {
+                    log.debug("Error occurred while writing a chunk", e);
+                    timer.fail();
+                    continue;
+                }
+                final long writeNanos = timer.end();
+                InsertedRows.record(chunk.lastRow);
+
+                ++chunkCount;
+                writtenRows += chunk.puts.size();
+                generationTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(chunk.generationNanos));
+                writeTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(writeNanos));
+
+                log.debug(format("Chunk %d: generated in %d us, written in %d us", chunkCount,
+                        TimeUnit.NANOSECONDS.toMicros(chunk.generationNanos), TimeUnit.NANOSECONDS.toMicros(writeNanos)));
+
+                // Output a progress message
+                if( writtenRows >= (batchCount + 1) * appConfig.getBatchSize() ) {
+                    batchCount = writtenRows / appConfig.getBatchSize();
+                    log.info(format("Wrote %d / %d rows", writtenRows, rowCount));
+                }
             }
-
-            totalGenTime += System.currentTimeMillis() - startTime;
+        } catch (InterruptedException e) {
+            // Restore the interrupted status
+            Thread.currentThread().interrupt();
+
+            log.error("Waiting for generated rows was interrupted", e);
+        } finally {
+            // Release a generator blocked on the full queue, however the writer stopped
+            generator.interrupt();
         }
 
-        log.debug(format("Total write generation time: %d ms", totalGenTime));
-
+        stats.addValue(writtenRows);
 
-        startTime = System.currentTimeMillis();
-
-        log.info("Writing all rows...");
-
-        // Insert all of the rows with batching occurring during insertion
-        HBaseOperations.performPut(table, puts);
+        Utils.displayStatistics(stats, "Written Rows", "count");
+        Utils.displayStatistics(generationTimes, "Chunk Generation Time");
+        Utils.displayStatistics(writeTimes, "Chunk Write Time");
+    }
 
-        if( !appConfig.isAutoFlushEnabled() ) {
-            HBaseOperations.performFlush(table);
+    /**
+     * A chunk of rows to be written together along with the time spent generating them
+     */
+    private static final class Chunk {
+        private final List<Put> puts;
+        private final long lastRow;
+        private final long generationNanos;
+
+        private Chunk(final List<Put> chunkPuts, final long last, final long nanos) {
+            puts = chunkPuts;
+            lastRow = last;
+            generationNanos = nanos;
         }
+    }
 
-        stats.addValue(rowCount);
-        log.debug(format("Total write insertion time: %d ms", (System.currentTimeMillis() - startTime)));
+    /**
+     * Generates the rows of the test in chunks, blocking while the queue of chunks
+     * waiting to be written is full
+     */
+    private static final class ChunkGenerator implements Runnable {
+        private final Config appConfig;
+        private final BlockingQueue<Chunk> chunks;
+
+        private ChunkGenerator(final Config config, final BlockingQueue<Chunk> queue) {
+            appConfig = config;
+            chunks = queue;
+        }
 
-        Utils.displayStatistics(stats, "Written Rows", "count");
+        @Override
+        public void run() {
+            final long firstRow = appConfig.getFirstRow();
+            final long lastRow = firstRow + appConfig.getRowCount();
+            final int writeBatch = appConfig.getWriteBatch();
+
+            try {
+                for(long chunkStart = firstRow; chunkStart < lastRow && !Thread.currentThread().isInterrupted(); chunkStart += writeBatch) {
+                    final long startTime = System.nanoTime();
+                    final long chunkEnd = Math.min(chunkStart + writeBatch, lastRow);
+                    final List<Put> puts = Lists.newArrayListWithCapacity((int) (chunkEnd - chunkStart));
+
+                    // Create a row with an increasing rowkey
+                    for(long row = chunkStart; row < chunkEnd; row++) {
+                        final Put p = Utils.createPut(Utils.generateRowKey(row), Utils.generateRowValue());
+                        p.setWriteToWAL(appConfig.isWALEnabled());
+
+                        puts.add(p);
+                    }
+
+                    chunks.put(new Chunk(puts, chunkEnd - 1, System.nanoTime() - startTime));
+                }
+            } catch (InterruptedException e) {
+                // Restore the interrupted status
+                Thread.currentThread().interrupt();
+
+                // The writer has stopped, so there is nobody left to generate rows for
+                log.debug("Row generation was interrupted", e);
+            } finally {
+                // Always release the writer, even if generation failed
+                try {
+                    chunks.put(END_OF_CHUNKS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
     }
 }
@@ -6,11 +6,11 @@ import org.apache.hadoop.hbase.client.HTableInterface;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.log4j.Logger;
 
-import util.DataProvider;
 import util.Utils;
+import util.keys.KeyChooser;
+import util.keys.KeyChoosers;
 
 import com.nearinfinity.honeycomb.hbase.HBaseOperations;
-import com.nearinfinity.honeycomb.hbase.rowkey.DataRowKey;
 
 import config.Config;
 
@@ -20,17 +20,37 @@ import config.Config;
 public final class GetRowTest implements PerformanceTest {
     private static final Logger log = Logger.getLogger(GetRowTest.class);
 
+    /**
+     * The chooser shared by every worker, looked up once since the test is run once per get
+     */
+    private volatile KeyChooser chooser;
+
     @Override
-    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats) {
-        final long lastTableId = appConfig.getRowCount() - 1;
-        final byte[] rowkey = new DataRowKey(lastTableId, DataProvider.ROW_UUID).encode();
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        final long tableId;
+        if( appConfig.isDistributionEnabled() ) {
+            // Look for a row chosen by the configured key distribution
+            tableId = chooser(appConfig).nextKey(Utils.threadRandom());
+        } else {
+            // Look for the last row in the table
+            tableId = appConfig.getFirstRow() + appConfig.getRowCount() - 1;
+        }
 
-        // Look for the last row in the table
+        final byte[] rowkey = Utils.generateRowKey(tableId);
         final Get g = Utils.createGet(rowkey);
 
         log.info("Looking for row with rowkey: " + Utils.generateHexString(rowkey));
 
-        final Result result = HBaseOperations.performGet(table, g);
+        final Result result;
+        timer.begin();
+        try {
+            result = HBaseOperations.performGet(table, g);
+            timer.end();
+        } catch (RuntimeException e) {
+            log.debug("Error occurred during get", e);
+            timer.fail();
+            return;
+        }
 
         if( result.isEmpty() ) {
             log.info("Row could not be found");
@@ -38,4 +58,15 @@ public final class GetRowTest implements PerformanceTest {
             log.info("Row found");
         }
     }
+
+    private KeyChooser chooser(final Config appConfig) {
+        KeyChooser keyChooser = chooser;
+        if( keyChooser == null ) {
+            // Concurrent workers may both look it up, but always receive the same cached chooser
+            keyChooser = KeyChoosers.forConfig(appConfig, appConfig.getKeyspaceRowCount());
+            chooser = keyChooser;
+        }
+
+        return keyChooser;
+    }
 }
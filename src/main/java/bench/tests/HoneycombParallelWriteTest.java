@@ -0,0 +1,78 @@
+package bench.tests;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.log4j.Logger;
+
+import util.DataProvider;
+import util.FastRandom;
+import util.HoneycombEnvironment;
+import util.Utils;
+
+import com.nearinfinity.honeycomb.mysql.HandlerProxy;
+
+import config.Config;
+
+/**
+ * Represents a concurrent Honeycomb write test in which every client thread inserts its
+ * share of the rows into the same SQL table through a {@link HandlerProxy} of its own,
+ * as concurrent MySQL connections do.  The latency of every insert is recorded, and the
+ * rows written by every thread are summed so that the aggregate rate is reported.
+ */
+public final class HoneycombParallelWriteTest implements PerformanceTest {
+    private static final Logger log = Logger.getLogger(HoneycombParallelWriteTest.class);
+
+    /**
+     * The name under which the latency of flushing the inserted rows is recorded
+     */
+    public static final String OP_FLUSH = "flush";
+
+    private static final HoneycombEnvironment hcEnv = new HoneycombEnvironment();
+
+    @Override
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        // Every thread keeps its own proxy for every execution of the test
+        final HandlerProxy proxy = hcEnv.threadProxy();
+        final FastRandom random = Utils.threadRandom();
+        hcEnv.createTestTable(proxy);
+
+        final long rowCount = appConfig.getRowCount();
+        final long batchSize = appConfig.getBatchSize();
+
+        proxy.openTable(DataProvider.HC_TEST_TABLE);
+
+        log.info(format("Writing %d rows through a dedicated proxy...", rowCount));
+
+        final long startTime = System.nanoTime();
+        long writtenRows = 0;
+        try {
+            for(; writtenRows < rowCount; writtenRows++) {
+                final byte[] row = Utils.generateUniqueRowValue(random);
+
+                timer.begin();
+                proxy.insertRow(row);
+                timer.end();
+
+                if( (writtenRows + 1) % batchSize == 0 ) {
+                    log.info(format("Wrote %d / %d rows", writtenRows + 1, rowCount));
+                }
+            }
+
+            final long flushStart = System.nanoTime();
+            proxy.flush();
+            timer.record(OP_FLUSH, System.nanoTime() - flushStart);
+        } finally {
+            proxy.closeTable();
+        }
+
+        final double elapsedSeconds = Utils.convertMillisToSeconds(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        log.info(format("Wrote %d rows at %.2f rows/sec", writtenRows, elapsedSeconds == 0 ? 0 : writtenRows / elapsedSeconds));
+
+        // The rows of every thread are summed, so the units per second are the aggregate rate
+        stats.addValue(writtenRows);
+    }
+}
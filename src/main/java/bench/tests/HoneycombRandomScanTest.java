@@ -0,0 +1,113 @@
+package bench.tests;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.log4j.Logger;
+
+import util.DataProvider;
+import util.FastRandom;
+import util.HoneycombEnvironment;
+import util.Utils;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableMap;
+import com.nearinfinity.honeycomb.mysql.HandlerProxy;
+import com.nearinfinity.honeycomb.mysql.QueryKey;
+import com.nearinfinity.honeycomb.mysql.gen.QueryType;
+
+import config.Config;
+
+/**
+ * Represents Honeycomb index scans with a randomly chosen {@link QueryType} and indexed
+ * value for every scan, run by every client thread through a {@link HandlerProxy} of its
+ * own.  The scans end after the scan range or at the end of the index, whichever comes
+ * first.  The time to the first row, the latency of every following row and the latency
+ * of each type of scan are recorded, and the number of rows actually returned is
+ * collected as the test statistic.
+ */
+public final class HoneycombRandomScanTest implements PerformanceTest {
+    private static final Logger log = Logger.getLogger(HoneycombRandomScanTest.class);
+
+    /**
+     * The names under which the time to the first row, measured from the start of the
+     * scan, and the latency of each later row are recorded
+     */
+    public static final String OP_FIRST_ROW = "firstRow";
+    public static final String OP_NEXT_ROW = "nextRow";
+
+    private static final QueryType[] QUERY_TYPES = { QueryType.EXACT_KEY, QueryType.KEY_OR_NEXT, QueryType.AFTER_KEY,
+        QueryType.INDEX_FIRST, QueryType.INDEX_LAST };
+
+    private static final HoneycombEnvironment hcEnv = new HoneycombEnvironment();
+
+    @Override
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        final HandlerProxy proxy = hcEnv.threadProxy();
+        final FastRandom random = Utils.threadRandom();
+        final long scanRange = appConfig.getScanRange();
+        final long scanCount = appConfig.getScanCount();
+
+        log.info(format("Performing %d randomized index scans with up to %d rows each...", scanCount, scanRange));
+
+        proxy.openTable(DataProvider.HC_TEST_TABLE);
+        try {
+            for(int i = 1; i <= scanCount; i++) {
+                final QueryType queryType = QUERY_TYPES[random.nextInt(QUERY_TYPES.length)];
+                final int returnedRows = scan(proxy, queryType, randomQueryKey(queryType, random), scanRange, timer);
+
+                log.debug(format("%s scan returned %d rows", queryType, returnedRows));
+                stats.addValue(returnedRows);
+            }
+        } finally {
+            proxy.closeTable();
+        }
+    }
+
+    /**
+     * Performs one index scan
+     *
+     * @return The number of rows returned by the scan
+     */
+    private static int scan(final HandlerProxy proxy, final QueryType queryType, final QueryKey queryKey, final long scanRange, final OperationTimer timer) {
+        int returnedRows = 0;
+
+        timer.begin();
+        // The time to the first row includes setting up the scan
+        long rowStart = System.nanoTime();
+        proxy.startIndexScan(queryKey.serialize());
+        try {
+            while( returnedRows < scanRange && proxy.getNextRow() != null ) {
+                final long now = System.nanoTime();
+                timer.record(returnedRows == 0 ? OP_FIRST_ROW : OP_NEXT_ROW, now - rowStart);
+
+                rowStart = now;
+                returnedRows++;
+            }
+        } finally {
+            proxy.endScan();
+        }
+        timer.end(queryType.name());
+
+        return returnedRows;
+    }
+
+    private static QueryKey randomQueryKey(final QueryType queryType, final FastRandom random) {
+        // Scans of a whole index take no indexed value
+        final Map<String, ByteBuffer> values;
+        if( queryType == QueryType.INDEX_FIRST || queryType == QueryType.INDEX_LAST ) {
+            values = Collections.emptyMap();
+        } else {
+            // The values are those written by the Honeycomb write tests, so the scans start throughout the index
+            final String value = DataProvider.HC_INDEXED_VALUES.get(random.nextInt(DataProvider.HC_INDEXED_VALUES.size()));
+            values = ImmutableMap.of(DataProvider.HC_INDEXED_COLUMN, ByteBuffer.wrap(value.getBytes(Charsets.UTF_8)));
+        }
+
+        return new QueryKey(DataProvider.HC_INDEX_NAME, queryType, values);
+    }
+}
@@ -25,8 +25,8 @@ public final class HoneycombRangeScanTest implements PerformanceTest {
     private static HoneycombEnvironment hcEnv = new HoneycombEnvironment();
 
     @Override
-    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats) {
-        final HandlerProxy proxy = hcEnv.setupEnvironment();
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        final HandlerProxy proxy = hcEnv.threadProxy();
 
         final long scanRange = appConfig.getScanRange();
         final long scanCount = appConfig.getScanCount();
@@ -37,13 +37,16 @@ public final class HoneycombRangeScanTest implements PerformanceTest {
             log.debug(format("\nRunning scan number: %d", i));
 
             proxy.openTable(DataProvider.HC_TEST_TABLE);
+
+            timer.begin();
             proxy.startIndexScan(DataProvider.HC_QUERY_KEY.serialize());
 
+            // The scan may end before the requested number of rows
             int scannedRowCount = 0;
-            for(int row = 0; row < scanRange; row++) {
-                proxy.getNextRow();
+            while( scannedRowCount < scanRange && proxy.getNextRow() != null ) {
                 scannedRowCount++;
             }
+            timer.end();
 
             log.debug(format("Scan returned %d rows", scannedRowCount));
             stats.addValue(scannedRowCount);
@@ -7,6 +7,7 @@ import org.apache.hadoop.hbase.client.HTableInterface;
 import org.apache.log4j.Logger;
 
 import util.DataProvider;
+import util.FastRandom;
 import util.HoneycombEnvironment;
 import util.Utils;
 
@@ -21,22 +22,28 @@ import config.Config;
 public final class HoneycombWriteTest implements PerformanceTest {
     private static final Logger log = Logger.getLogger(HoneycombWriteTest.class);
 
-    private static HoneycombEnvironment hcEnv = new HoneycombEnvironment();
+    private static final HoneycombEnvironment hcEnv = new HoneycombEnvironment();
 
     @Override
-    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats) {
-        final HandlerProxy proxy = hcEnv.setupEnvironment();
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        // A proxy holds the state of its open table, so every thread needs its own
+        final HandlerProxy proxy = hcEnv.threadProxy();
+        final FastRandom random = Utils.threadRandom();
+        hcEnv.createTestTable(proxy);
 
         long batchCount = 0;
         final long batchSize = appConfig.getBatchSize();
 
-        proxy.createTable(DataProvider.HC_TEST_TABLE, DataProvider.HC_TABLE_SCHEMA.serialize(), 1);
         proxy.openTable(DataProvider.HC_TEST_TABLE);
 
         log.info(format("Writing %d rows...", appConfig.getRowCount()));
 
         for(int i = 1; i <= appConfig.getRowCount(); i++) {
-            proxy.insertRow(Utils.generateRowValue());
+            final byte[] row = Utils.generateUniqueRowValue(random);
+
+            timer.begin();
+            proxy.insertRow(row);
+            timer.end();
 
             if( i % batchSize == 0 ) {
                 ++batchCount;
@@ -44,8 +51,10 @@ public final class HoneycombWriteTest implements PerformanceTest {
             }
         }
 
-        proxy.flush();
-
-        proxy.closeTable();
+        try {
+            proxy.flush();
+        } finally {
+            proxy.closeTable();
+        }
     }
 }
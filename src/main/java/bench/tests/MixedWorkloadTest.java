@@ -0,0 +1,199 @@
+package bench.tests;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.log4j.Logger;
+
+import util.FastRandom;
+import util.Utils;
+import util.keys.InsertedRows;
+import util.keys.KeyChooser;
+import util.keys.KeyChoosers;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.nearinfinity.honeycomb.hbase.HBaseOperations;
+
+import config.Config;
+import config.ConfigConstants;
+
+/**
+ * Represents a mixed workload in which gets, puts, short scans, multi-gets and deletes
+ * against rows chosen by the configured key distribution are interleaved in configurable
+ * proportions, with the latency of each type of operation recorded separately.  Every put
+ * is flushed to the table within its timing, even when autoflush is disabled.
+ */
+public final class MixedWorkloadTest implements PerformanceTest {
+    private static final Logger log = Logger.getLogger(MixedWorkloadTest.class);
+
+    public static final String OP_GET = "get";
+    public static final String OP_PUT = "put";
+    public static final String OP_SCAN = "scan";
+    public static final String OP_MULTIGET = "multiGet";
+    public static final String OP_DELETE = "delete";
+
+    @Override
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        final long rowCount = appConfig.getRowCount();
+        final long batchSize = appConfig.getBatchSize();
+        long batchCount = 0;
+
+        // Cumulative proportions used to pick the operation type
+        final double getLimit = appConfig.getGetProportion();
+        final double putLimit = getLimit + appConfig.getPutProportion();
+        final double scanLimit = putLimit + appConfig.getScanProportion();
+        final double multiGetLimit = scanLimit + appConfig.getMultiGetProportion();
+        final double total = multiGetLimit + appConfig.getDeleteProportion();
+
+        if( total <= 0 ) {
+            log.warn("No operations have been given a positive proportion.  Nothing to run.");
+            return;
+        }
+
+        final KeyChooser chooser = KeyChoosers.forConfig(appConfig, appConfig.getKeyspaceRowCount());
+        final FastRandom random = Utils.threadRandom();
+
+        // With the latest distribution puts insert new rows, which the other operations then favor
+        final boolean insertPuts = appConfig.isDistributionEnabled() && appConfig.getDistribution().equals(ConfigConstants.ARG_DIST_LATEST);
+
+        log.info(format("Performing %d mixed operations...", rowCount));
+
+        for(long index = 1; index <= rowCount; index++) {
+            final double choice = random.nextDouble() * total;
+
+            if( choice < getLimit ) {
+                performGet(table, chooser, random, timer);
+            } else if( choice < putLimit ) {
+                performPut(table, appConfig, insertPuts, chooser, random, timer);
+            } else if( choice < scanLimit ) {
+                performScan(table, appConfig, chooser, random, timer);
+            } else if( choice < multiGetLimit ) {
+                performMultiGet(table, appConfig, chooser, random, timer);
+            } else {
+                performDelete(table, appConfig, chooser, random, timer);
+            }
+
+            if( index % batchSize == 0 ) {
+                ++batchCount;
+                log.info(format("Performed %d / %d operations", batchCount * batchSize, rowCount));
+            }
+        }
+
+        stats.addValue(rowCount);
+    }
+
+    private static byte[] chooseRowKey(final KeyChooser chooser, final FastRandom random) {
+        return Utils.generateRowKey(chooser.nextKey(random));
+    }
+
+    private static void performGet(final HTableInterface table, final KeyChooser chooser, final FastRandom random, final OperationTimer timer) {
+        final Get g = Utils.createGet(chooseRowKey(chooser, random));
+
+        timer.begin();
+        try {
+            HBaseOperations.performGet(table, g);
+            timer.end(OP_GET);
+        } catch (RuntimeException e) {
+            log.debug("Error occurred during get", e);
+            timer.fail();
+        }
+    }
+
+    private static void performPut(final HTableInterface table, final Config appConfig, final boolean insert,
+            final KeyChooser chooser, final FastRandom random, final OperationTimer timer) {
+        final long tableId = insert ? InsertedRows.claim(appConfig.getKeyspaceRowCount()) : chooser.nextKey(random);
+        final Put p = Utils.createPut(Utils.generateRowKey(tableId), Utils.generateRowValue());
+        p.setWriteToWAL(appConfig.isWALEnabled());
+
+        timer.begin();
+        try {
+            HBaseOperations.performPut(table, ImmutableList.<Put>of(p));
+            if( !appConfig.isAutoFlushEnabled() ) {
+                // Otherwise the put only reaches the write buffer, and its RPC would land on whichever later put fills it
+                HBaseOperations.performFlush(table);
+            }
+            timer.end(OP_PUT);
+
+            if( insert ) {
+                // Only now is the new row readable, so the latest distribution may choose it
+                InsertedRows.record(tableId);
+            }
+        } catch (RuntimeException e) {
+            log.debug("Error occurred during put", e);
+            timer.fail();
+        }
+    }
+
+    private static void performScan(final HTableInterface table, final Config appConfig, final KeyChooser chooser,
+            final FastRandom random, final OperationTimer timer) {
+        final Scan scan = Utils.createScan(chooseRowKey(chooser, random));
+        scan.setCaching((int) Math.min(appConfig.getScanCache(), appConfig.getScanRange()));
+
+        timer.begin();
+        ResultScanner scanner = null;
+
+        try {
+            scanner = HBaseOperations.getScanner(table, scan);
+            for(int index = 0; index < appConfig.getScanRange(); index++) {
+                if( scanner.next() == null ) {
+                    break;
+                }
+            }
+            timer.end(OP_SCAN);
+        } catch (IOException e) {
+            log.debug("Error occurred while processing scanner results", e);
+            timer.fail();
+        } catch (RuntimeException e) {
+            log.debug("Error occurred while opening the scanner", e);
+            timer.fail();
+        } finally {
+            IOUtils.closeQuietly(scanner);
+        }
+    }
+
+    private static void performMultiGet(final HTableInterface table, final Config appConfig, final KeyChooser chooser,
+            final FastRandom random, final OperationTimer timer) {
+        final List<Get> gets = Lists.newArrayListWithCapacity(appConfig.getMultiGetSize());
+        for(int index = 0; index < appConfig.getMultiGetSize(); index++) {
+            gets.add(Utils.createGet(chooseRowKey(chooser, random)));
+        }
+
+        timer.begin();
+        try {
+            final Result[] results = table.get(gets);
+            timer.end(OP_MULTIGET);
+
+            log.trace(format("Multi-get returned %d results", results.length));
+        } catch (IOException e) {
+            log.debug("Error occurred during multi-get", e);
+            timer.fail();
+        }
+    }
+
+    private static void performDelete(final HTableInterface table, final Config appConfig, final KeyChooser chooser,
+            final FastRandom random, final OperationTimer timer) {
+        final Delete d = new Delete(chooseRowKey(chooser, random));
+        d.setWriteToWAL(appConfig.isWALEnabled());
+
+        timer.begin();
+        try {
+            table.delete(d);
+            timer.end(OP_DELETE);
+        } catch (IOException e) {
+            log.debug("Error occurred during delete", e);
+            timer.fail();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package bench.tests;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.log4j.Logger;
+
+import util.FastRandom;
+import util.Utils;
+import util.keys.KeyChooser;
+import util.keys.KeyChoosers;
+
+import com.google.common.collect.Lists;
+
+import config.Config;
+
+/**
+ * Represents a batched read test in that the rows are grouped into lists of {@link Get}
+ * objects, each of which is fetched with one call to {@link HTableInterface#get(List)}.
+ * Rows are read in order unless a key distribution has been requested, and the latency
+ * of every batch is recorded.
+ */
+public final class MultiGetTest implements PerformanceTest {
+    private static final Logger log = Logger.getLogger(MultiGetTest.class);
+
+    @Override
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        final long rowCount = appConfig.getRowCount();
+        final long firstRow = appConfig.getFirstRow();
+        final int multiGetSize = appConfig.getMultiGetSize();
+        final KeyChooser chooser = appConfig.isDistributionEnabled()
+                ? KeyChoosers.forConfig(appConfig, appConfig.getKeyspaceRowCount()) : null;
+        final FastRandom random = Utils.threadRandom();
+
+        log.info(format("Performing %s multi-get of %d rows in batches of %d...",
+                chooser == null ? "sequential" : appConfig.getDistribution(), rowCount, multiGetSize));
+
+        long requestedRows = 0;
+        long foundRows = 0;
+        long batchCount = 0;
+        final long startTime = System.nanoTime();
+
+        while( requestedRows < rowCount ) {
+            final int batchRows = (int) Math.min(multiGetSize, rowCount - requestedRows);
+            final List<Get> gets = Lists.newArrayListWithCapacity(batchRows);
+
+            for(int index = 0; index < batchRows; index++) {
+                final long tableId = chooser == null ? firstRow + requestedRows + index : chooser.nextKey(random);
+                gets.add(Utils.createGet(Utils.generateRowKey(tableId)));
+            }
+
+            timer.begin();
+            try {
+                final Result[] results = table.get(gets);
+                timer.end();
+
+                for(final Result result : results) {
+                    if( result != null && !result.isEmpty() ) {
+                        ++foundRows;
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("Error occurred during multi-get", e);
+                timer.fail();
+            }
+
+            requestedRows += batchRows;
+
+            // Output a progress message
+            if( requestedRows >= (batchCount + 1) * appConfig.getBatchSize() ) {
+                batchCount = requestedRows / appConfig.getBatchSize();
+                log.info(format("Read %d / %d rows", requestedRows, rowCount));
+            }
+        }
+
+        final double elapsedSeconds = (System.nanoTime() - startTime) / (double) TimeUnit.SECONDS.toNanos(1);
+        log.info(format("Found %d of %d requested rows at %.1f rows/sec", foundRows, requestedRows, requestedRows / elapsedSeconds));
+
+        stats.addValue(requestedRows);
+
+        Utils.displayStatistics(stats, "Read Rows", "count");
+    }
+}
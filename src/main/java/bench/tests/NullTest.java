@@ -14,7 +14,7 @@ public final class NullTest implements PerformanceTest {
     private static final Logger log = Logger.getLogger(NullTest.class);
 
     @Override
-    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats) {
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
         log.warn("Unknown test specified.  Nothing to run.");
     }
 }
@@ -0,0 +1,234 @@
+package bench.tests;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import util.LatencyHistogram;
+import util.LatencyRecorder;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Measures the latency of the individual operations issued by a {@link PerformanceTest}.
+ * <p>
+ * When created with a target rate, each call to {@link #begin()} waits for the next
+ * intended start time on a fixed schedule.  Latency is then measured both from the actual
+ * start of the operation (raw) and from its intended start (corrected), so that a stall
+ * is charged to every operation that should have been issued while it lasted instead of
+ * only to the one operation that was blocked by it.
+ * <p>
+ * Latencies are recorded into constant-size {@link LatencyHistogram}s, so a timer can be
+ * used for arbitrarily long executions.  A timer belongs to a single worker thread and is
+ * not safe to share.
+ */
+public final class OperationTimer {
+    private static final long NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private final long intervalNanos;
+    private final LatencyHistogram rawLatency = new LatencyHistogram();
+    private final LatencyHistogram correctedLatency = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> operationLatency = Maps.newHashMap();
+    private final LatencyRecorder intervalLatency = new LatencyRecorder();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private boolean scheduleStarted = false;
+    private long nextIntendedStart;
+    private long intendedStart;
+    private long actualStart;
+
+    private OperationTimer(final long interval) {
+        intervalNanos = interval;
+    }
+
+    /**
+     * Creates a timer that starts each operation as soon as the previous one has completed
+     *
+     * @return The timer
+     */
+    public static OperationTimer closedLoop() {
+        return new OperationTimer(0);
+    }
+
+    /**
+     * Creates a timer that starts operations at a constant rate regardless of how long
+     * the previous operations took to complete
+     *
+     * @param opsPerSecond The number of operations to start every second, positive
+     * @return The timer
+     */
+    public static OperationTimer fixedRate(final double opsPerSecond) {
+        checkArgument(opsPerSecond > 0, "The target operation rate must be positive");
+
+        return new OperationTimer(Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / opsPerSecond)));
+    }
+
+    /**
+     * Marks the start of an operation, first waiting for its intended start time when
+     * operations are being issued at a fixed rate
+     */
+    public void begin() {
+        if( intervalNanos == 0 ) {
+            actualStart = System.nanoTime();
+            intendedStart = actualStart;
+            return;
+        }
+
+        if( !scheduleStarted ) {
+            nextIntendedStart = System.nanoTime();
+            scheduleStarted = true;
+        }
+
+        intendedStart = nextIntendedStart;
+        nextIntendedStart += intervalNanos;
+
+        long now = System.nanoTime();
+        while( now < intendedStart ) {
+            LockSupport.parkNanos(intendedStart - now);
+            now = System.nanoTime();
+        }
+
+        actualStart = now;
+    }
+
+    /**
+     * Marks the start of an operation with an intended start time of its own, such as the
+     * time of a recorded operation being replayed, first waiting for that time.  The
+     * corrected latency is measured from the given time even if the operation starts late.
+     *
+     * @param intendedNanos The intended start time, as given by {@link System#nanoTime()}
+     */
+    public void beginAt(final long intendedNanos) {
+        intendedStart = intendedNanos;
+
+        long now = System.nanoTime();
+        while( now < intendedStart ) {
+            LockSupport.parkNanos(intendedStart - now);
+            now = System.nanoTime();
+        }
+
+        actualStart = now;
+    }
+
+    /**
+     * Marks the completion of the operation started by the last call to {@link #begin()}
+     * and records its latency
+     *
+     * @return The latency of the operation measured from its intended start time, in nanoseconds
+     */
+    public long end() {
+        final long now = System.nanoTime();
+        final long corrected = now - intendedStart;
+
+        rawLatency.recordValue((now - actualStart) / NANOS_PER_MICRO);
+        correctedLatency.recordValue(corrected / NANOS_PER_MICRO);
+        intervalLatency.recordValue(corrected / NANOS_PER_MICRO);
+
+        // Only the owning thread writes the count, so an ordered write is sufficient
+        completed.lazySet(completed.get() + 1);
+
+        return corrected;
+    }
+
+    /**
+     * Marks the completion of the operation started by the last call to {@link #begin()}
+     * and records its latency, both overall and for the specified type of operation
+     *
+     * @param operation The name of the type of operation that completed, not null
+     * @return The latency of the operation measured from its intended start time, in nanoseconds
+     */
+    public long end(final String operation) {
+        final long corrected = end();
+        operationLatency(operation).recordValue(corrected / NANOS_PER_MICRO);
+
+        return corrected;
+    }
+
+    private LatencyHistogram operationLatency(final String operation) {
+        LatencyHistogram latency = operationLatency.get(operation);
+        if( latency == null ) {
+            latency = new LatencyHistogram();
+            operationLatency.put(operation, latency);
+        }
+
+        return latency;
+    }
+
+    /**
+     * Counts an operation that failed, such as the one started by the last call to
+     * {@link #begin()}.  No latency is recorded for a failed operation and it is not
+     * included in the completed operations.
+     */
+    public void fail() {
+        // Only the owning thread writes the count, so an ordered write is sufficient
+        failed.lazySet(failed.get() + 1);
+    }
+
+    /**
+     * Records the latency of an operation of the specified type that was timed elsewhere,
+     * such as one completed asynchronously by another thread.  The latency is not included
+     * in the overall latencies, which only cover the operations marked by {@link #begin()}
+     *
+     * @param operation The name of the type of operation that completed, not null
+     * @param nanos The latency of the operation, in nanoseconds
+     */
+    public void record(final String operation, final long nanos) {
+        operationLatency(operation).recordValue(nanos / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Returns the number of completed operations, which may be read from any thread while
+     * the timer is in use
+     *
+     * @return The number of operations completed so far
+     */
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    /**
+     * Returns the number of failed operations, which may be read from any thread while
+     * the timer is in use
+     *
+     * @return The number of operations that failed so far
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Returns the recorder of the latencies measured from the intended start of each
+     * operation, which may be harvested by one other thread while the timer is in use
+     *
+     * @return The interval latency recorder, in microseconds
+     */
+    public LatencyRecorder getIntervalLatency() {
+        return intervalLatency;
+    }
+
+    /**
+     * @return The latencies measured from the actual start of each operation, in microseconds
+     */
+    public LatencyHistogram getRawLatency() {
+        return rawLatency;
+    }
+
+    /**
+     * @return The latencies measured from the intended start of each operation, in microseconds
+     */
+    public LatencyHistogram getCorrectedLatency() {
+        return correctedLatency;
+    }
+
+    /**
+     * @return The latencies measured from the intended start of each operation, in microseconds,
+     *         keyed by the name of the type of operation
+     */
+    public Map<String, LatencyHistogram> getOperationLatency() {
+        return operationLatency;
+    }
+}
@@ -0,0 +1,213 @@
+package bench.tests;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
+import org.apache.log4j.Logger;
+
+import util.Utils;
+import util.WorkerThreadFactory;
+
+import com.google.common.collect.Lists;
+import com.nearinfinity.honeycomb.hbase.HBaseOperations;
+
+import config.Config;
+
+/**
+ * Represents a {@link Scan} over the entire set of rowkeys that is split at the region
+ * boundaries of the table, with the regions scanned concurrently by a bounded number of
+ * threads.  Throughput is reported for the whole scan and for every region.
+ */
+public final class ParallelScanTest implements PerformanceTest {
+    private static final Logger log = Logger.getLogger(ParallelScanTest.class);
+
+    /**
+     * The name under which the scan time of each region is recorded
+     */
+    public static final String OP_REGION = "region";
+
+    @Override
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        final int parallelism = appConfig.getScanParallelism();
+        final long firstRow = appConfig.getFirstRow();
+        final byte[] startRow = Utils.generateRowKey(firstRow);
+        final byte[] stopRow = Utils.generateRowKey(firstRow + appConfig.getRowCount());
+
+        // An HTable is not thread-safe, so every concurrent scan uses a connection of its own
+        final BlockingQueue<HTableInterface> connections = new LinkedBlockingQueue<HTableInterface>();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, new WorkerThreadFactory(ParallelScanTest.class.getSimpleName(), true));
+
+        long scannedRows = 0;
+        long scannedBytes = 0;
+
+        try {
+            final List<Pair<byte[], byte[]>> ranges = splitAtRegions(table, startRow, stopRow);
+            for(int slot = 0; slot < Math.min(parallelism, ranges.size()); slot++) {
+                connections.add(Utils.newTableConnection(table));
+            }
+
+            log.info(format("Performing parallel scan of %d regions with %d threads...", ranges.size(), parallelism));
+
+            timer.begin();
+            final List<Future<RangeResult>> results = Lists.newArrayListWithCapacity(ranges.size());
+            for(final Pair<byte[], byte[]> range : ranges) {
+                results.add(executor.submit(new RangeScanner(connections, range, appConfig.getScanCache())));
+            }
+
+            for(int index = 0; index < results.size(); index++) {
+                try {
+                    final RangeResult result = results.get(index).get();
+                    timer.record(OP_REGION, result.nanos);
+
+                    scannedRows += result.rows;
+                    scannedBytes += result.bytes;
+
+                    final double seconds = toSeconds(result.nanos);
+                    log.info(format("Region %d [%s, %s): %d rows, %.1f rows/sec, %.1f bytes/sec", index,
+                            Utils.generateHexString(ranges.get(index).getFirst()), Utils.generateHexString(ranges.get(index).getSecond()),
+                            result.rows, result.rows / seconds, result.bytes / seconds));
+                } catch (ExecutionException e) {
+                    log.error(format("Error occurred while scanning region %d", index), e.getCause());
+                    timer.fail();
+                }
+            }
+            final long scanNanos = timer.end();
+
+            final double seconds = toSeconds(scanNanos);
+            log.info(format("Scanned %d rows (%d bytes) at %.1f rows/sec, %.1f bytes/sec", scannedRows, scannedBytes,
+                    scannedRows / seconds, scannedBytes / seconds));
+        } catch (IOException e) {
+            log.error("Error occurred while locating the table regions", e);
+        } catch (InterruptedException e) {
+            // Restore the interrupted status
+            Thread.currentThread().interrupt();
+
+            log.error("Waiting for the region scans was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+
+            for(final HTableInterface connection : connections) {
+                IOUtils.closeQuietly(connection);
+            }
+        }
+
+        stats.addValue(scannedRows);
+
+        Utils.displayStatistics(stats, "Scanned Rows", "count");
+    }
+
+    /**
+     * Splits a rowkey range at the boundaries of the regions it spans
+     *
+     * @param table The table being scanned
+     * @param startRow The inclusive start of the range
+     * @param stopRow The exclusive end of the range
+     * @return The sub-ranges of the range, one per region, in order
+     * @throws IOException If the region boundaries could not be read
+     */
+    private static List<Pair<byte[], byte[]>> splitAtRegions(final HTableInterface table, final byte[] startRow, final byte[] stopRow) throws IOException {
+        final List<Pair<byte[], byte[]>> ranges = Lists.newArrayList();
+
+        if( !(table instanceof HTable) ) {
+            // Without region locations the range can only be scanned as a whole
+            ranges.add(new Pair<byte[], byte[]>(startRow, stopRow));
+            return ranges;
+        }
+
+        final Pair<byte[][], byte[][]> startEndKeys = ((HTable) table).getStartEndKeys();
+        for(int region = 0; region < startEndKeys.getFirst().length; region++) {
+            final byte[] regionStart = startEndKeys.getFirst()[region];
+            final byte[] regionEnd = startEndKeys.getSecond()[region];
+
+            // An empty end key marks the last region of the table
+            final byte[] rangeStart = Bytes.compareTo(regionStart, startRow) > 0 ? regionStart : startRow;
+            final byte[] rangeEnd = regionEnd.length == 0 || Bytes.compareTo(regionEnd, stopRow) > 0 ? stopRow : regionEnd;
+
+            if( Bytes.compareTo(rangeStart, rangeEnd) < 0 ) {
+                ranges.add(new Pair<byte[], byte[]>(rangeStart, rangeEnd));
+            }
+        }
+
+        return ranges;
+    }
+
+    private static double toSeconds(final long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * The number of rows and bytes returned by the scan of one range and the time it took
+     */
+    private static final class RangeResult {
+        private final long rows;
+        private final long bytes;
+        private final long nanos;
+
+        private RangeResult(final long rangeRows, final long rangeBytes, final long scanNanos) {
+            rows = rangeRows;
+            bytes = rangeBytes;
+            nanos = scanNanos;
+        }
+    }
+
+    /**
+     * Scans one range with a connection borrowed from the shared pool
+     */
+    private static final class RangeScanner implements Callable<RangeResult> {
+        private final BlockingQueue<HTableInterface> connections;
+        private final Pair<byte[], byte[]> range;
+        private final int scanCache;
+
+        private RangeScanner(final BlockingQueue<HTableInterface> pool, final Pair<byte[], byte[]> scanRange, final int cache) {
+            connections = pool;
+            range = scanRange;
+            scanCache = cache;
+        }
+
+        @Override
+        public RangeResult call() throws IOException, InterruptedException {
+            final Scan scan = Utils.createScan(range.getFirst(), range.getSecond());
+            scan.setCaching(scanCache);
+
+            long rows = 0;
+            long bytes = 0;
+
+            final HTableInterface connection = connections.take();
+            final long startTime = System.nanoTime();
+            final ResultScanner scanner = HBaseOperations.getScanner(connection, scan);
+            try {
+                for(Result result = scanner.next(); result != null; result = scanner.next()) {
+                    ++rows;
+                    for(final KeyValue kv : result.raw()) {
+                        bytes += kv.getLength();
+                    }
+                }
+            } finally {
+                IOUtils.closeQuietly(scanner);
+                connections.put(connection);
+            }
+
+            return new RangeResult(rows, bytes, System.nanoTime() - startTime);
+        }
+    }
+}
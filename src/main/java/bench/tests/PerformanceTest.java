@@ -17,6 +17,7 @@ public interface PerformanceTest {
      * @param table The connection to the HBase table
      * @param appConfig The application specific configuration
      * @param stats The statistics container used to collect a metric from the test
+     * @param timer The timer used to pace and measure each operation issued by the test
      */
-    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats);
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer);
 }
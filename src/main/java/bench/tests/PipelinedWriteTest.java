@@ -0,0 +1,188 @@
+package bench.tests;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.log4j.Logger;
+
+import util.Utils;
+import util.WorkerThreadFactory;
+import util.keys.InsertedRows;
+
+import com.google.common.collect.Lists;
+
+import config.Config;
+
+/**
+ * Represents a pipelined write test in that batches of {@link Put} objects are submitted
+ * through {@link HTableInterface#batch(List, Object[])} on separate threads, keeping a
+ * bounded number of batches in flight.  Generation of new batches blocks while the window
+ * of in-flight batches is full, and the time from submission to completion of every batch
+ * is recorded.
+ */
+public final class PipelinedWriteTest implements PerformanceTest {
+    private static final Logger log = Logger.getLogger(PipelinedWriteTest.class);
+
+    /**
+     * The name under which the completion latency of each batch is recorded
+     */
+    public static final String OP_BATCH = "batch";
+
+    @Override
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        final int window = appConfig.getWriteWindow();
+        final int writeBatch = appConfig.getWriteBatch();
+        final long firstRow = appConfig.getFirstRow();
+        final long lastRow = firstRow + appConfig.getRowCount();
+
+        // An HTable is not thread-safe, so every in-flight batch uses a connection of its own
+        final BlockingQueue<HTableInterface> connections = new LinkedBlockingQueue<HTableInterface>();
+        final ExecutorService executor = Executors.newFixedThreadPool(window, new WorkerThreadFactory(PipelinedWriteTest.class.getSimpleName(), true));
+        final CompletionService<BatchResult> completions = new ExecutorCompletionService<BatchResult>(executor);
+
+        long writtenRows = 0;
+        long batchCount = 0;
+        int inFlight = 0;
+
+        try {
+            for(int slot = 0; slot < window; slot++) {
+                connections.add(Utils.newTableConnection(table));
+            }
+
+            log.info(format("Writing %d rows in batches of %d with up to %d batches in flight...", appConfig.getRowCount(), writeBatch, window));
+
+            for(long batchStart = firstRow; batchStart < lastRow; batchStart += writeBatch) {
+                final long batchEnd = Math.min(batchStart + writeBatch, lastRow);
+                final List<Row> puts = Lists.newArrayListWithCapacity((int) (batchEnd - batchStart));
+
+                // Create a row with an increasing rowkey
+                for(long row = batchStart; row < batchEnd; row++) {
+                    final Put p = Utils.createPut(Utils.generateRowKey(row), Utils.generateRowValue());
+                    p.setWriteToWAL(appConfig.isWALEnabled());
+
+                    puts.add(p);
+                }
+
+                // Submission includes waiting for a batch to complete when the window is full
+                timer.begin();
+                if( inFlight == window ) {
+                    writtenRows += awaitBatch(completions.take(), timer);
+                    inFlight--;
+                }
+
+                completions.submit(new BatchWriter(connections, puts, batchEnd - 1, System.nanoTime()));
+                timer.end();
+                inFlight++;
+
+                if( batchEnd - firstRow >= (batchCount + 1) * appConfig.getBatchSize() ) {
+                    batchCount = (batchEnd - firstRow) / appConfig.getBatchSize();
+                    log.info(format("Submitted %d / %d rows", batchEnd - firstRow, appConfig.getRowCount()));
+                }
+            }
+
+            // Drain the batches still in flight
+            for(; inFlight > 0; inFlight--) {
+                writtenRows += awaitBatch(completions.take(), timer);
+            }
+        } catch (IOException e) {
+            log.error("Error occurred during table connection", e);
+        } catch (InterruptedException e) {
+            // Restore the interrupted status
+            Thread.currentThread().interrupt();
+
+            log.error("Waiting for in-flight batches was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+
+            for(final HTableInterface connection : connections) {
+                IOUtils.closeQuietly(connection);
+            }
+        }
+
+        stats.addValue(writtenRows);
+
+        Utils.displayStatistics(stats, "Written Rows", "count");
+    }
+
+    /**
+     * Records the completion latency of a finished batch
+     *
+     * @param completed The result of the batch
+     * @param timer The timer recording the batch latency
+     * @return The number of rows written by the batch
+     */
+    private static long awaitBatch(final Future<BatchResult> completed, final OperationTimer timer) throws InterruptedException {
+        try {
+            final BatchResult result = completed.get();
+            timer.record(OP_BATCH, result.latencyNanos);
+            InsertedRows.record(result.lastRow);
+
+            return result.rows;
+        } catch (ExecutionException e) {
+            log.debug("Error occurred while writing a batch", e.getCause());
+            timer.fail();
+            return 0;
+        }
+    }
+
+    /**
+     * The number of rows written by a batch, the last of them and the time from its
+     * submission to its completion
+     */
+    private static final class BatchResult {
+        private final long rows;
+        private final long lastRow;
+        private final long latencyNanos;
+
+        private BatchResult(final long batchRows, final long last, final long nanos) {
+            rows = batchRows;
+            lastRow = last;
+            latencyNanos = nanos;
+        }
+    }
+
+    /**
+     * Writes one batch with a connection borrowed from the shared pool
+     */
+    private static final class BatchWriter implements Callable<BatchResult> {
+        private final BlockingQueue<HTableInterface> connections;
+        private final List<Row> puts;
+        private final long lastRow;
+        private final long submitTime;
+
+        private BatchWriter(final BlockingQueue<HTableInterface> pool, final List<Row> batch, final long last, final long submitted) {
+            connections = pool;
+            puts = batch;
+            lastRow = last;
+            submitTime = submitted;
+        }
+
+        @Override
+        public BatchResult call() throws IOException, InterruptedException {
+            final HTableInterface connection = connections.take();
+            try {
+                connection.batch(puts, new Object[puts.size()]);
+            } finally {
+                connections.put(connection);
+            }
+
+            return new BatchResult(puts.size(), lastRow, System.nanoTime() - submitTime);
+        }
+    }
+}
@@ -10,7 +10,10 @@ import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.log4j.Logger;
 import util.DataProvider;
+import util.FastRandom;
 import util.Utils;
+import util.keys.KeyChooser;
+import util.keys.KeyChoosers;
 
 import java.io.IOException;
 
@@ -22,20 +25,25 @@ public final class RandomScanTest implements PerformanceTest {
     private static final Logger log = Logger.getLogger(RandomScanTest.class);
 
     @Override
-    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats) {
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
         final long scanRange = appConfig.getScanRange();
         final long scanCount = appConfig.getScanCount();
+        final KeyChooser chooser = KeyChoosers.forConfig(appConfig, DataProvider.QUERY_KEYS.size());
+        final FastRandom random = Utils.threadRandom();
         // Run scans for the specified number of times
         for (int i = 1; i <= scanCount; i++) {
-            int i1 = Utils.RANDOM.nextInt(DataProvider.QUERY_KEYS.length);
-            byte[] startRowKey = DataProvider.QUERY_KEYS[i1];
+            int i1 = (int) chooser.nextKey(random);
+            byte[] startRowKey = DataProvider.QUERY_KEYS.get(i1);
             final Scan scan = Utils.createScan(startRowKey);
             scan.setCaching(appConfig.getScanCache());
-            ResultScanner scanner = HBaseOperations.getScanner(table, scan);
+
+            timer.begin();
+            ResultScanner scanner = null;
 
             int resultCount = 0;
 
             try {
+                scanner = HBaseOperations.getScanner(table, scan);
                 for (int index = 0; index < scanRange; index++) {
                     Result rr = scanner.next();
                     if (rr == null) {
@@ -43,14 +51,19 @@ public final class RandomScanTest implements PerformanceTest {
                     }
                     resultCount++;
                 }
+                timer.end();
 
             } catch (IOException e) {
-                log.error("Error occurred while processing scanner results", e);
+                log.debug("Error occurred while processing scanner results", e);
+                timer.fail();
+            } catch (RuntimeException e) {
+                log.debug("Error occurred while opening the scanner", e);
+                timer.fail();
+            } finally {
+                IOUtils.closeQuietly(scanner);
             }
 
             stats.addValue(resultCount);
-
-            IOUtils.closeQuietly(scanner);
         }
     }
 }
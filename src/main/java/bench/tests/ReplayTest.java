@@ -0,0 +1,160 @@
+package bench.tests;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.log4j.Logger;
+
+import util.DataProvider;
+import util.FastRandom;
+import util.Utils;
+import util.trace.Trace;
+import util.trace.TraceOperation;
+
+import com.google.common.collect.ImmutableList;
+import com.nearinfinity.honeycomb.hbase.HBaseOperations;
+
+import config.Config;
+
+/**
+ * Represents the replay of a recorded {@link Trace} of operations against the table.
+ * <p>
+ * The operations are spread across the client threads by the hash of their rowkeys, so
+ * every operation on a rowkey is issued by the same thread in the recorded order.  Each
+ * thread issues its operations at their recorded times, scaled by the replay speed, and
+ * their corrected latency is measured from those times, so a thread that falls behind the
+ * trace is charged for the delay.  With a replay speed of 0 the operations are issued as
+ * fast as possible.
+ */
+public final class ReplayTest implements PerformanceTest {
+    private static final Logger log = Logger.getLogger(ReplayTest.class);
+
+    @Override
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        final Trace trace = DataProvider.TRACE;
+        final int threads = appConfig.getThreads();
+        final int worker = appConfig.getWorkerIndex();
+        final double speed = appConfig.getReplaySpeed();
+        final long batchSize = appConfig.getBatchSize();
+        final FastRandom random = Utils.threadRandom();
+
+        log.info(format("Replaying the trace at %s...", speed > 0 ? speed + "x speed" : "full speed"));
+
+        final Trace.Cursor cursor = trace.cursor();
+        final long startTime = System.nanoTime();
+        long replayed = 0;
+
+        while( cursor.next() ) {
+            if( (cursor.keyHash() & Integer.MAX_VALUE) % threads != worker ) {
+                continue;
+            }
+
+            final TraceOperation operation = cursor.getOperation();
+            final byte[] rowKey = cursor.rowKey();
+
+            if( speed > 0 ) {
+                timer.beginAt(startTime + (long) (TimeUnit.MICROSECONDS.toNanos(cursor.getTimestampMicros()) / speed));
+            } else {
+                timer.begin();
+            }
+
+            if( perform(table, appConfig, operation, rowKey, cursor.getValueSize(), random) ) {
+                timer.end(operation.getLabel());
+            } else {
+                timer.fail();
+            }
+
+            if( ++replayed % batchSize == 0 ) {
+                log.info(format("Replayed %d operations", replayed));
+            }
+        }
+
+        if( !appConfig.isAutoFlushEnabled() ) {
+            try {
+                HBaseOperations.performFlush(table);
+            } catch (RuntimeException e) {
+                log.error("Error occurred while flushing the buffered puts", e);
+                timer.fail();
+            }
+        }
+
+        log.info(format("Replayed %d operations", replayed));
+        stats.addValue(replayed);
+    }
+
+    /**
+     * Issues one operation of the trace
+     *
+     * @return True if the operation succeeded
+     */
+    private static boolean perform(final HTableInterface table, final Config appConfig, final TraceOperation operation,
+            final byte[] rowKey, final int valueSize, final FastRandom random) {
+        try {
+            return issue(table, appConfig, operation, rowKey, valueSize, random);
+        } catch (RuntimeException e) {
+            log.debug(format("Error occurred during %s", operation.getLabel()), e);
+            return false;
+        }
+    }
+
+    private static boolean issue(final HTableInterface table, final Config appConfig, final TraceOperation operation,
+            final byte[] rowKey, final int valueSize, final FastRandom random) {
+        switch( operation ) {
+            case GET:
+                HBaseOperations.performGet(table, Utils.createGet(rowKey));
+                return true;
+            case PUT:
+                final byte[] value = valueSize > 0 ? Utils.generateRowValue(valueSize, random) : Utils.generateRowValue();
+                final Put p = Utils.createPut(rowKey, value);
+                p.setWriteToWAL(appConfig.isWALEnabled());
+
+                HBaseOperations.performPut(table, ImmutableList.<Put>of(p));
+                return true;
+            case DELETE:
+                final Delete d = new Delete(rowKey);
+                d.setWriteToWAL(appConfig.isWALEnabled());
+
+                try {
+                    table.delete(d);
+                    return true;
+                } catch (IOException e) {
+                    log.debug("Error occurred during delete", e);
+                    return false;
+                }
+            case SCAN:
+                return scan(table, appConfig, rowKey);
+            default:
+                throw new IllegalArgumentException("Unsupported trace operation: " + operation);
+        }
+    }
+
+    private static boolean scan(final HTableInterface table, final Config appConfig, final byte[] rowKey) {
+        final Scan scan = Utils.createScan(rowKey);
+        scan.setCaching((int) Math.min(appConfig.getScanCache(), appConfig.getScanRange()));
+
+        final ResultScanner scanner = HBaseOperations.getScanner(table, scan);
+        try {
+            for(int index = 0; index < appConfig.getScanRange(); index++) {
+                if( scanner.next() == null ) {
+                    break;
+                }
+            }
+
+            return true;
+        } catch (IOException e) {
+            log.debug("Error occurred while processing scanner results", e);
+            return false;
+        } finally {
+            IOUtils.closeQuietly(scanner);
+        }
+    }
+}
@@ -12,11 +12,9 @@ import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.log4j.Logger;
 
-import util.DataProvider;
 import util.Utils;
 
 import com.nearinfinity.honeycomb.hbase.HBaseOperations;
-import com.nearinfinity.honeycomb.hbase.rowkey.DataRowKey;
 
 import config.Config;
 
@@ -28,21 +26,25 @@ public final class ScanTest implements PerformanceTest {
     private static final Logger log = Logger.getLogger(ScanTest.class);
 
     @Override
-    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats) {
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
         long batchCount = 0;
         final long batchSize = appConfig.getBatchSize();
-        final byte[] startRow = new DataRowKey(0, DataProvider.ROW_UUID).encode();
-        final byte[] stopRow = new DataRowKey(appConfig.getRowCount(), DataProvider.ROW_UUID).encode();
+        final long firstRow = appConfig.getFirstRow();
+        final byte[] startRow = Utils.generateRowKey(firstRow);
+        final byte[] stopRow = Utils.generateRowKey(firstRow + appConfig.getRowCount());
 
         final Scan scan = Utils.createScan(startRow, stopRow);
         scan.setCaching(appConfig.getScanCache());
 
-        final ResultScanner scanner = HBaseOperations.getScanner(table, scan);
-
         log.info("Performing full table scan...");
 
+        timer.begin();
+        ResultScanner scanner = null;
+
         int rowCount = 0;
         try {
+            scanner = HBaseOperations.getScanner(table, scan);
+
             // Count the number of rows that the scanner has
             for (Result rr = null; (rr = scanner.next()) != null;) {
                 ++rowCount;
@@ -52,11 +54,17 @@ public final class ScanTest implements PerformanceTest {
                     log.info(format("Scanned %d / %d rows", batchCount * batchSize, appConfig.getRowCount()));
                 }
             }
+            timer.end();
 
             stats.addValue(rowCount);
-            IOUtils.closeQuietly(scanner);
         } catch (IOException e) {
             log.error("Error occurred while processing scanner results", e);
+            timer.fail();
+        } catch (RuntimeException e) {
+            log.error("Error occurred while opening the scanner", e);
+            timer.fail();
+        } finally {
+            IOUtils.closeQuietly(scanner);
         }
 
         Utils.displayStatistics(stats, "Scanned Rows", "count");
@@ -0,0 +1,181 @@
+package bench.tests;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.log4j.Logger;
+
+import util.Utils;
+
+import com.google.common.collect.Lists;
+import com.nearinfinity.honeycomb.hbase.HBaseOperations;
+
+import config.Config;
+
+/**
+ * Represents a tuning run of the {@link Scan} over the entire set of rowkeys, in which the
+ * scan is repeated for every combination of the candidate scanner caching, batch and
+ * block caching settings.  The rows/sec and time to first row of each combination are
+ * reported along with the best combination found.  Only the default batch is tried unless
+ * others are given, since the rows written by this tool have a single column, which a
+ * batch never splits.
+ */
+public final class ScanTuneTest implements PerformanceTest {
+    private static final Logger log = Logger.getLogger(ScanTuneTest.class);
+
+    private static final boolean[] CACHE_BLOCKS = { true, false };
+
+    @Override
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
+        final long firstRow = appConfig.getFirstRow();
+        final byte[] startRow = Utils.generateRowKey(firstRow);
+        final byte[] stopRow = Utils.generateRowKey(firstRow + appConfig.getRowCount());
+
+        final List<Trial> trials = Lists.newArrayList();
+        long scannedRows = 0;
+
+        try {
+            // Prime the block cache so that the first candidate is not penalized
+            log.info("Priming the block cache before tuning...");
+            scan(table, createScan(startRow, stopRow, appConfig.getScanCache(), 0, true), new Trial(appConfig.getScanCache(), 0, true));
+        } catch (IOException e) {
+            log.warn("Error occurred while priming the block cache, tuning anyway", e);
+        } catch (RuntimeException e) {
+            log.warn("Error occurred while priming the block cache, tuning anyway", e);
+        }
+
+        for(final int caching : appConfig.getTuneCaching()) {
+            for(final int batch : appConfig.getTuneBatch()) {
+                for(final boolean cacheBlocks : CACHE_BLOCKS) {
+                    final Trial trial = new Trial(caching, batch, cacheBlocks);
+                    log.info(format("Scanning with %s...", trial));
+
+                    timer.begin();
+                    try {
+                        scan(table, createScan(startRow, stopRow, caching, batch, cacheBlocks), trial);
+                    } catch (IOException e) {
+                        // Skip the failed candidate rather than abandoning the whole tuning run
+                        log.error(format("Error occurred while scanning with %s", trial), e);
+                        timer.fail();
+                        continue;
+                    } catch (RuntimeException e) {
+                        log.error(format("Error occurred while opening the scanner with %s", trial), e);
+                        timer.fail();
+                        continue;
+                    }
+                    trial.nanos = timer.end();
+
+                    scannedRows += trial.rows;
+                    trials.add(trial);
+                }
+            }
+        }
+
+        stats.addValue(scannedRows);
+
+        displayTrials(trials);
+    }
+
+    private static Scan createScan(final byte[] startRow, final byte[] stopRow, final int caching, final int batch, final boolean cacheBlocks) {
+        final Scan scan = Utils.createScan(startRow, stopRow);
+        scan.setCaching(caching);
+        scan.setCacheBlocks(cacheBlocks);
+
+        if( batch > 0 ) {
+            scan.setBatch(batch);
+        }
+
+        return scan;
+    }
+
+    /**
+     * Scans a range, recording the number of rows and the time to the first row.  A batched
+     * scan may return a row as several partial results, so rows are counted by their keys.
+     *
+     * @param table The table to scan
+     * @param scan The scan to perform
+     * @param trial The trial receiving the results of the scan
+     * @throws IOException If the scan failed
+     */
+    private static void scan(final HTableInterface table, final Scan scan, final Trial trial) throws IOException {
+        final long startTime = System.nanoTime();
+        final ResultScanner scanner = HBaseOperations.getScanner(table, scan);
+
+        try {
+            byte[] previousRow = null;
+            for(Result result = scanner.next(); result != null; result = scanner.next()) {
+                if( trial.rows == 0 ) {
+                    trial.firstRowNanos = System.nanoTime() - startTime;
+                }
+
+                final byte[] row = result.getRow();
+                if( previousRow == null || !Bytes.equals(row, previousRow) ) {
+                    ++trial.rows;
+                    previousRow = row;
+                }
+            }
+        } finally {
+            IOUtils.closeQuietly(scanner);
+        }
+    }
+
+    private static void displayTrials(final List<Trial> trials) {
+        Trial best = null;
+
+        System.out.println("\n*************************");
+        System.out.println("Scanner Tuning Results");
+        System.out.println("Units: rows/sec, milliseconds");
+        System.out.println("**************************");
+        System.out.println("Caching, Batch, Cache blocks, Rows/sec, Time to first row");
+
+        for(final Trial trial : trials) {
+            System.out.println(format("%d, %d, %s, %.1f, %.3f", trial.caching, trial.batch, trial.cacheBlocks,
+                    trial.getRowsPerSecond(), trial.firstRowNanos / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+
+            if( best == null || trial.getRowsPerSecond() > best.getRowsPerSecond() ) {
+                best = trial;
+            }
+        }
+
+        if( best != null ) {
+            System.out.println(format("Best: %s at %.1f rows/sec", best, best.getRowsPerSecond()));
+        }
+    }
+
+    /**
+     * The scanner settings of one tuning candidate and the results measured for them
+     */
+    private static final class Trial {
+        private final int caching;
+        private final int batch;
+        private final boolean cacheBlocks;
+        private long rows;
+        private long nanos;
+        private long firstRowNanos;
+
+        private Trial(final int scanCaching, final int scanBatch, final boolean scanCacheBlocks) {
+            caching = scanCaching;
+            batch = scanBatch;
+            cacheBlocks = scanCacheBlocks;
+        }
+
+        private double getRowsPerSecond() {
+            return nanos == 0 ? 0 : rows / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+        }
+
+        @Override
+        public String toString() {
+            return format("caching %d, batch %s, cache blocks %s", caching, batch > 0 ? String.valueOf(batch) : "unlimited", cacheBlocks);
+        }
+    }
+}
@@ -7,11 +7,12 @@ import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.HTableInterface;
 import org.apache.log4j.Logger;
 
-import util.DataProvider;
+import util.FastRandom;
 import util.Utils;
+import util.keys.KeyChooser;
+import util.keys.KeyChoosers;
 
 import com.nearinfinity.honeycomb.hbase.HBaseOperations;
-import com.nearinfinity.honeycomb.hbase.rowkey.DataRowKey;
 
 import config.Config;
 
@@ -23,16 +24,34 @@ public final class SequentialReadTest implements PerformanceTest {
     private static final Logger log = Logger.getLogger(SequentialReadTest.class);
 
     @Override
-    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats) {
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
         final long batchSize = appConfig.getBatchSize();
         long batchCount = 0;
 
-        log.info("Performing sequential read...");
+        final long firstRow = appConfig.getFirstRow();
+        final KeyChooser chooser = appConfig.isDistributionEnabled()
+                ? KeyChoosers.forConfig(appConfig, appConfig.getKeyspaceRowCount()) : null;
+        final FastRandom random = Utils.threadRandom();
 
-        for(int i = 1; i <= appConfig.getRowCount(); i++) {
-            final Get g = Utils.createGet(new DataRowKey(i, DataProvider.ROW_UUID).encode());
+        if( chooser == null ) {
+            log.info("Performing sequential read...");
+        } else {
+            log.info(format("Performing %s read...", appConfig.getDistribution()));
+        }
 
-            HBaseOperations.performGet(table, g);
+        for(int i = 1; i <= appConfig.getRowCount(); i++) {
+            // Read the rows in order unless a key distribution has been requested
+            final long tableId = chooser == null ? firstRow + i : chooser.nextKey(random);
+            final Get g = Utils.createGet(Utils.generateRowKey(tableId));
+
+            timer.begin();
+            try {
+                HBaseOperations.performGet(table, g);
+                timer.end();
+            } catch (RuntimeException e) {
+                log.debug("Error occurred during get", e);
+                timer.fail();
+            }
 
             if( i % batchSize == 0 ) {
                 ++batchCount;
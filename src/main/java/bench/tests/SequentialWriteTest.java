@@ -8,6 +8,7 @@ import org.apache.hadoop.hbase.client.Put;
 import org.apache.log4j.Logger;
 
 import util.Utils;
+import util.keys.InsertedRows;
 
 import com.google.common.collect.ImmutableList;
 import com.nearinfinity.honeycomb.hbase.HBaseOperations;
@@ -22,11 +23,11 @@ public final class SequentialWriteTest implements PerformanceTest {
     private static final Logger log = Logger.getLogger(SequentialWriteTest.class);
 
     @Override
-    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats) {
+    public void runTest(final HTableInterface table, final Config appConfig, final DescriptiveStatistics stats, final OperationTimer timer) {
         final long rowCount = appConfig.getRowCount();
         final long batchSize = appConfig.getBatchSize();
         long batchCount = 0;
-        long rowKeyCount = 0;
+        long rowKeyCount = appConfig.getFirstRow();
 
         log.info(format("Writing %d rows...", rowCount));
 
@@ -35,7 +36,16 @@ public final class SequentialWriteTest implements PerformanceTest {
             final Put p = Utils.createPut(Utils.generateRowKey(rowKeyCount), Utils.generateRowValue());
             p.setWriteToWAL(appConfig.isWALEnabled());
 
-            HBaseOperations.performPut(table, ImmutableList.<Put>of(p));
+            timer.begin();
+            try {
+                HBaseOperations.performPut(table, ImmutableList.<Put>of(p));
+                timer.end();
+
+                InsertedRows.record(rowKeyCount);
+            } catch (RuntimeException e) {
+                log.debug("Error occurred during put", e);
+                timer.fail();
+            }
             rowKeyCount++;
 
             if( index % batchSize == 0 ) {
@@ -45,7 +55,12 @@ public final class SequentialWriteTest implements PerformanceTest {
         }
 
         if( !appConfig.isAutoFlushEnabled() ) {
-            HBaseOperations.performFlush(table);
+            try {
+                HBaseOperations.performFlush(table);
+            } catch (RuntimeException e) {
+                log.error("Error occurred while flushing the buffered puts", e);
+                timer.fail();
+            }
         }
     }
 }
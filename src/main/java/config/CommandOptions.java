@@ -4,6 +4,8 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.OptionBuilder;
 import org.apache.commons.cli.Options;
 
+import com.google.common.primitives.Ints;
+
 import static java.lang.String.format;
 
 /**
@@ -21,6 +23,8 @@ public abstract class CommandOptions {
     private static final String ARG_NAME_TIME = "time";
     private static final String ARG_NAME_TYPE = "type";
     private static final String ARG_NAME_COUNT = "count";
+    private static final String ARG_NAME_PERCENT = "percent";
+    private static final String ARG_NAME_FILE = "file";
     private static final String DEFAULT = "\nDefault:";
     static {
         final Option indexName = OptionBuilder.withArgName(ARG_NAME_TABLE)
@@ -40,11 +44,11 @@ public abstract class CommandOptions {
 
         final Option rowLength = OptionBuilder.withArgName(ARG_NAME_COUNT + "," + ARG_NAME_COUNT)
                                              .hasArg()
-                                             .withDescription(format("Max row key length %s %d", DEFAULT, Config.DEFAULT_KEY_LENGTH))
+                                             .withDescription(format("Min and max row value length used by the size distribution %s %d", DEFAULT, Config.DEFAULT_KEY_LENGTH))
                                              .create(ConfigConstants.OPT_ROW_LENGTH);
         final Option keyLength = OptionBuilder.withArgName(ARG_NAME_COUNT + "," + ARG_NAME_COUNT)
                                              .hasArg()
-                                             .withDescription(format("Max row key length %s %d", DEFAULT, Config.DEFAULT_KEY_LENGTH))
+                                             .withDescription(format("Min and max rowkey length used by the size distribution %s %d", DEFAULT, Config.DEFAULT_KEY_LENGTH))
                                              .create(ConfigConstants.OPT_KEY_LENGTH);
 
         final Option rowCount = OptionBuilder.withArgName(ARG_NAME_COUNT)
@@ -64,6 +68,16 @@ public abstract class CommandOptions {
                                                 .withDescription("Delete the HBase table used by this tool")
                                                 .create(ConfigConstants.OPT_DELETE_TABLE);
 
+        final Option prepare = OptionBuilder.hasArg(false)
+                                            .withDescription("Bulk load the rows of the keyspace into the table from HFiles written by the client before running the test")
+                                            .create(ConfigConstants.OPT_PREPARE);
+
+        final Option bulkLoadDir = OptionBuilder.withArgName("dir")
+                                                .hasArg(true)
+                                                .withDescription(format("The directory in the HBase file system where the HFiles of the %s phase are written %s %s",
+                                                        ConfigConstants.OPT_PREPARE, DEFAULT, Config.DEFAULT_BULK_LOAD_DIR))
+                                                .create(ConfigConstants.OPT_BULK_LOAD_DIR);
+
         final Option scanRange = OptionBuilder.withArgName(ARG_NAME_COUNT)
                                               .hasArg(true)
                                               .withDescription(format("The number of rows in the range used during random table scans %s %d", DEFAULT, Config.DEFAULT_SCAN_RANGE_ROWS))
@@ -79,6 +93,21 @@ public abstract class CommandOptions {
                                               .withDescription("The number of times to execute a scan")
                                               .create(ConfigConstants.OPT_SCAN_COUNT);
 
+        final Option scanParallelism = OptionBuilder.withArgName(ARG_NAME_COUNT)
+                                                    .hasArg(true)
+                                                    .withDescription(format("The number of regions scanned concurrently by the %s test %s %d", ConfigConstants.ARG_TEST_PARALLELSCAN, DEFAULT, Config.DEFAULT_SCAN_PARALLELISM))
+                                                    .create(ConfigConstants.OPT_SCAN_PARALLELISM);
+
+        final Option tuneCaching = OptionBuilder.withArgName(ARG_NAME_COUNT + ",...")
+                                                .hasArg(true)
+                                                .withDescription(format("The scanner caching values tried by the %s test %s %s", ConfigConstants.ARG_TEST_SCANTUNE, DEFAULT, Ints.join(",", Config.DEFAULT_TUNE_CACHING)))
+                                                .create(ConfigConstants.OPT_TUNE_CACHING);
+
+        final Option tuneBatch = OptionBuilder.withArgName(ARG_NAME_COUNT + ",...")
+                                              .hasArg(true)
+                                              .withDescription(format("The scanner batch values tried by the %s test, where 0 leaves the batch unlimited and other values only split rows with several columns, which this tool does not write %s %s", ConfigConstants.ARG_TEST_SCANTUNE, DEFAULT, Ints.join(",", Config.DEFAULT_TUNE_BATCH)))
+                                              .create(ConfigConstants.OPT_TUNE_BATCH);
+
         final Option zkQuorum = OptionBuilder.withArgName(ARG_NAME_QUORUM)
                                              .hasArg(true)
                                              .withDescription(format("The quorum of Zookeeper instances %s %s", DEFAULT, Config.DEFAULT_ZOOKEEPER_QUORUM))
@@ -94,19 +123,37 @@ public abstract class CommandOptions {
                                               .withDescription(format("The name of the table used by this tool %s %s",  DEFAULT, ConfigConstants.TABLE_NAME))
                                               .create(ConfigConstants.OPT_TOOL_TABLE);
 
+        final Option resultsFile = OptionBuilder.withArgName(ARG_NAME_FILE)
+                                                .hasArg(true)
+                                                .withDescription("A file receiving the configuration, environment, per-second samples and aggregates of every run, written as CSV if its name ends with .csv and as JSON otherwise")
+                                                .create(ConfigConstants.OPT_RESULTS_FILE);
+
+        final Option reportInterval = OptionBuilder.withArgName("seconds")
+                                                   .hasArg(true)
+                                                   .withDescription("Report the interval throughput, cumulative operations and interval latency percentiles every given number of seconds while the test runs")
+                                                   .create(ConfigConstants.OPT_REPORT_INTERVAL);
+
 
         final Option testType = OptionBuilder.withArgName(ARG_NAME_TYPE)
                                              .isRequired(true)
                                              .hasArg(true)
                                              .withDescription("The type of test to execute *required* \nPossible types:\n" +
-                                                             ConfigConstants.ARG_TEST_BATCHWRITE + ": Writes a batch of rows to the table\n" +
+                                                             ConfigConstants.ARG_TEST_BATCHWRITE + ": Writes the rows to the table in batches\n" +
                                                              ConfigConstants.ARG_TEST_SEQWRITE + ": Writes one row at a time to the table in order\n" +
                                                              ConfigConstants.ARG_TEST_GETROW + ": Gets one row from the table\n" +
                                                              ConfigConstants.ARG_TEST_SEQREAD + ": Reads every row from the table in order\n" +
+                                                             ConfigConstants.ARG_TEST_MULTIGET + ": Reads the rows in batches of " + ConfigConstants.OPT_MULTIGET_SIZE + " with one multi-get per batch\n" +
                                                              ConfigConstants.ARG_TEST_SCAN + ": Scans the entire table in order\n" +
+                                                             ConfigConstants.ARG_TEST_PARALLELSCAN + ": Scans the entire table with the regions scanned concurrently\n" +
+                                                             ConfigConstants.ARG_TEST_SCANTUNE + ": Scans the entire table once for every combination of the tuned scanner settings\n" +
                                                              ConfigConstants.ARG_TEST_RANDSCAN + ": Scans a Honeycomb table with the Person schema based on a random salary.\n" +
                                                              ConfigConstants.ARG_TEST_HCWRITE + ": Writes one Honeycomb row at a time to the table\n" +
-                                                             ConfigConstants.ARG_TEST_HCRANGESCAN + ": Scans the same range of Honeycomb rows with the specified row range")
+                                                             ConfigConstants.ARG_TEST_HCPARALLELWRITE + ": Writes Honeycomb rows to the same table from every client thread, each through its own proxy\n" +
+                                                             ConfigConstants.ARG_TEST_HCRANGESCAN + ": Scans the same range of Honeycomb rows with the specified row range\n" +
+                                                             ConfigConstants.ARG_TEST_HCRANDOMSCAN + ": Scans up to the specified row range of a Honeycomb index from a random position with a random scan type\n" +
+                                                             ConfigConstants.ARG_TEST_REPLAY + ": Replays the operations of the trace given by " + ConfigConstants.OPT_TRACE_FILE + " at their recorded times\n" +
+                                                             ConfigConstants.ARG_TEST_PIPELINEDWRITE + ": Writes the rows to the table in batches, keeping several batches in flight at once\n" +
+                                                             ConfigConstants.ARG_TEST_MIXED + ": Interleaves gets, puts, scans, multi-gets and deletes in the proportions given by " + ConfigConstants.OPT_MIX + ", flushing every put")
                                              .create(ConfigConstants.OPT_TEST_TYPE);
 
         final Option execType = OptionBuilder.withArgName(ARG_NAME_TYPE)
@@ -114,7 +161,8 @@ public abstract class CommandOptions {
                                              .isRequired(true)
                                              .withDescription("The type of execution used to run the test *required* \nPossible types:\n" +
                                                              ConfigConstants.ARG_EXEC_TIMED + ": Executes the test for a minimum period of time\n" +
-                                                             ConfigConstants.ARG_EXEC_COUNT + ": Executes the test over a fixed count")
+                                                             ConfigConstants.ARG_EXEC_COUNT + ": Executes the test over a fixed count\n" +
+                                                             ConfigConstants.ARG_EXEC_RATE + ": Executes the test for a minimum period of time, starting operations at the fixed rate given by " + ConfigConstants.OPT_TARGET_OPS)
                                              .create(ConfigConstants.OPT_EXEC_TYPE);
 
         final Option runTimes = OptionBuilder.withArgName(ARG_NAME_COUNT)
@@ -127,6 +175,161 @@ public abstract class CommandOptions {
                                              .withDescription(format("The minimum amount of time to execute the test type (in milliseconds) %s %d", DEFAULT, Config.DEFAULT_EXECUTION_TIME_MS))
                                              .create(ConfigConstants.OPT_EXEC_TIME);
 
+        final Option targetOps = OptionBuilder.withArgName(ARG_NAME_COUNT)
+                                              .hasArg(true)
+                                              .withDescription(format("The total number of operations started per second across all client threads, required by the %s execution type", ConfigConstants.ARG_EXEC_RATE))
+                                              .create(ConfigConstants.OPT_TARGET_OPS);
+
+        final Option warmup = OptionBuilder.withArgName(ARG_NAME_TIME)
+                                           .hasArg(true)
+                                           .withDescription(format("The minimum amount of time (in milliseconds) to run the test before measuring, or the minimum number of operations when suffixed with '%s'", ConfigConstants.ARG_WARMUP_OPS_SUFFIX))
+                                           .create(ConfigConstants.OPT_WARMUP);
+
+        final Option steadyState = OptionBuilder.withArgName(ARG_NAME_PERCENT)
+                                                .hasArg(true)
+                                                .withDescription("Extend the warmup until the variation of the per-second throughput falls below the given percentage")
+                                                .create(ConfigConstants.OPT_STEADY_STATE);
+
+        final Option mix = OptionBuilder.withArgName("get,put,scan,multiGet,delete")
+                                        .hasArg(true)
+                                        .withDescription(format("The relative proportions of each operation type issued by the %s test %s %.0f,%.0f,%.0f,0,0", ConfigConstants.ARG_TEST_MIXED,
+                                                DEFAULT, Config.DEFAULT_GET_PROPORTION, Config.DEFAULT_PUT_PROPORTION, Config.DEFAULT_SCAN_PROPORTION))
+                                        .create(ConfigConstants.OPT_MIX);
+
+        final Option multiGetSize = OptionBuilder.withArgName(ARG_NAME_COUNT)
+                                                 .hasArg(true)
+                                                 .withDescription(format("The number of rows requested by each multi-get of the %s and %s tests %s %d", ConfigConstants.ARG_TEST_MULTIGET, ConfigConstants.ARG_TEST_MIXED, DEFAULT, Config.DEFAULT_MULTIGET_SIZE))
+                                                 .create(ConfigConstants.OPT_MULTIGET_SIZE);
+
+        final Option distribution = OptionBuilder.withArgName(ARG_NAME_TYPE)
+                                                 .hasArg(true)
+                                                 .withDescription("The distribution of the keys accessed by the " + ConfigConstants.ARG_TEST_GETROW + ", " + ConfigConstants.ARG_TEST_SEQREAD + ", "
+                                                                 + ConfigConstants.ARG_TEST_MULTIGET + ", " + ConfigConstants.ARG_TEST_RANDSCAN + " and " + ConfigConstants.ARG_TEST_MIXED + " tests \nPossible types:\n" +
+                                                                 ConfigConstants.ARG_DIST_UNIFORM + ": Every key is equally likely\n" +
+                                                                 ConfigConstants.ARG_DIST_ZIPFIAN + ": The first keys are the most popular\n" +
+                                                                 ConfigConstants.ARG_DIST_SCRAMBLED_ZIPFIAN + ": Zipfian popularity with the popular keys spread across the table\n" +
+                                                                 ConfigConstants.ARG_DIST_HOTSPOT + ": A fraction of the operations access a fraction of the keys\n" +
+                                                                 ConfigConstants.ARG_DIST_LATEST + ": The most recently inserted keys are the most popular, and the puts of the mixed test insert new keys")
+                                                 .create(ConfigConstants.OPT_DISTRIBUTION);
+
+        final Option sizeDistribution = OptionBuilder.withArgName(ARG_NAME_TYPE)
+                                                     .hasArg(true)
+                                                     .withDescription("The distribution of the sizes of the rowkeys and row values, bounded by " + ConfigConstants.OPT_KEY_LENGTH + " and "
+                                                                     + ConfigConstants.OPT_ROW_LENGTH + " \nPossible types:\n" +
+                                                                     ConfigConstants.ARG_SIZE_FIXED + ": Every size is the maximum length\n" +
+                                                                     ConfigConstants.ARG_SIZE_UNIFORM + ": Every length in the range is equally likely\n" +
+                                                                     ConfigConstants.ARG_SIZE_NORMAL + ": Lengths are normally distributed across the range\n" +
+                                                                     ConfigConstants.ARG_SIZE_HISTOGRAM + ": Lengths follow the histograms given by " + ConfigConstants.OPT_KEY_SIZE_FILE + " and " + ConfigConstants.OPT_ROW_SIZE_FILE)
+                                                     .create(ConfigConstants.OPT_SIZE_DISTRIBUTION);
+
+        final Option keySizeFile = OptionBuilder.withArgName(ARG_NAME_FILE)
+                                                .hasArg(true)
+                                                .withDescription("A file of real rowkey sizes, one size per line optionally followed by a comma and its number of occurrences")
+                                                .create(ConfigConstants.OPT_KEY_SIZE_FILE);
+
+        final Option rowSizeFile = OptionBuilder.withArgName(ARG_NAME_FILE)
+                                                .hasArg(true)
+                                                .withDescription("A file of real row value sizes, one size per line optionally followed by a comma and its number of occurrences")
+                                                .create(ConfigConstants.OPT_ROW_SIZE_FILE);
+
+        final Option zipfConstant = OptionBuilder.withArgName("constant")
+                                                 .hasArg(true)
+                                                 .withDescription(format("The skew of the zipfian key distributions, between 0 and 1 %s %.2f", DEFAULT, Config.DEFAULT_ZIPF_CONSTANT))
+                                                 .create(ConfigConstants.OPT_ZIPF_CONSTANT);
+
+        final Option hotspot = OptionBuilder.withArgName(ARG_NAME_PERCENT + "," + ARG_NAME_PERCENT)
+                                            .hasArg(true)
+                                            .withDescription(format("The percentage of operations and the percentage of keys in the hot set of the hotspot key distribution %s %.0f,%.0f",
+                                                    DEFAULT, Config.DEFAULT_HOTSPOT_OP_PERCENT, Config.DEFAULT_HOTSPOT_KEY_PERCENT))
+                                            .create(ConfigConstants.OPT_HOTSPOT);
+
+        final Option writeBatch = OptionBuilder.withArgName(ARG_NAME_COUNT)
+                                               .hasArg(true)
+                                               .withDescription(format("The number of rows submitted together by the %s and %s tests %s %d", ConfigConstants.ARG_TEST_BATCHWRITE, ConfigConstants.ARG_TEST_PIPELINEDWRITE, DEFAULT, Config.DEFAULT_WRITE_BATCH))
+                                               .create(ConfigConstants.OPT_WRITE_BATCH);
+
+        final Option writeWindow = OptionBuilder.withArgName(ARG_NAME_COUNT)
+                                                .hasArg(true)
+                                                .withDescription(format("The maximum number of batches in flight at once during the %s test %s %d", ConfigConstants.ARG_TEST_PIPELINEDWRITE, DEFAULT, Config.DEFAULT_WRITE_WINDOW))
+                                                .create(ConfigConstants.OPT_WRITE_WINDOW);
+
+        final Option payloadPool = OptionBuilder.withArgName(ARG_NAME_COUNT)
+                                                .hasArg(true)
+                                                .withDescription(format("The number of distinct row values pre-serialized and reused by the write tests %s %d", DEFAULT, Config.DEFAULT_PAYLOAD_POOL_SIZE))
+                                                .create(ConfigConstants.OPT_PAYLOAD_POOL);
+
+        final Option rowKeyCache = OptionBuilder.withArgName(ARG_NAME_COUNT)
+                                                .hasArg(true)
+                                                .withDescription(format("The number of encoded rowkeys at the start of the keyspace cached by the payload pool, which only helps tests that read the same rows repeatedly %s %d", DEFAULT, Config.DEFAULT_ROW_KEY_CACHE_SIZE))
+                                                .create(ConfigConstants.OPT_ROW_KEY_CACHE);
+
+        final Option legacyPayload = OptionBuilder.hasArg(false)
+                                                  .withDescription("Generate and encode every row value and rowkey individually instead of using the payload pool")
+                                                  .create(ConfigConstants.OPT_LEGACY_PAYLOAD);
+
+        final Option regions = OptionBuilder.withArgName(ARG_NAME_COUNT)
+                                            .hasArg(true)
+                                            .withDescription(format("The number of regions the table is pre-split into when it is created %s %d", DEFAULT, Config.DEFAULT_REGIONS))
+                                            .create(ConfigConstants.OPT_REGIONS);
+
+        final Option splitAlgorithm = OptionBuilder.withArgName(ARG_NAME_TYPE)
+                                                   .hasArg(true)
+                                                   .withDescription(format("The algorithm used to compute the region boundaries of a pre-split table %s %s\nPossible types:\n", DEFAULT, ConfigConstants.ARG_SPLIT_ROWKEY) +
+                                                                   ConfigConstants.ARG_SPLIT_ROWKEY + ": Evenly divides the rowkeys of the configured row count\n" +
+                                                                   ConfigConstants.ARG_SPLIT_UNIFORM + ": Evenly divides the space of all possible byte arrays\n" +
+                                                                   ConfigConstants.ARG_SPLIT_HEX + ": Evenly divides the space of hexadecimal strings")
+                                                   .create(ConfigConstants.OPT_SPLIT_ALGORITHM);
+
+        final Option queryKeys = OptionBuilder.withArgName(ARG_NAME_COUNT)
+                                              .hasArg(true)
+                                              .withDescription(format("The number of index keys generated as the starting points of the %s test %s %d", ConfigConstants.ARG_TEST_RANDSCAN, DEFAULT, Config.DEFAULT_QUERY_KEY_COUNT))
+                                              .create(ConfigConstants.OPT_QUERY_KEYS);
+
+        final Option queryKeyFile = OptionBuilder.withArgName(ARG_NAME_FILE)
+                                                 .hasArg(true)
+                                                 .withDescription("A file from which the index keys of the " + ConfigConstants.ARG_TEST_RANDSCAN + " test are memory-mapped, written with the generated keys if it does not exist, is invalid, was generated for other tables or another index, holds a different number of keys or the table is being deleted")
+                                                 .create(ConfigConstants.OPT_QUERY_KEY_FILE);
+
+        final Option traceFile = OptionBuilder.withArgName(ARG_NAME_FILE)
+                                              .hasArg(true)
+                                              .withDescription(format("The binary trace replayed by the %s test, converted from text by util.trace.TraceConverter", ConfigConstants.ARG_TEST_REPLAY))
+                                              .create(ConfigConstants.OPT_TRACE_FILE);
+
+        final Option replaySpeed = OptionBuilder.withArgName("factor")
+                                                .hasArg(true)
+                                                .withDescription(format("The speed at which the %s test replays the trace relative to the recorded timing, or 0 to replay it as fast as possible %s %.0f",
+                                                        ConfigConstants.ARG_TEST_REPLAY, DEFAULT, Config.DEFAULT_REPLAY_SPEED))
+                                                .create(ConfigConstants.OPT_REPLAY_SPEED);
+
+        final Option backend = OptionBuilder.withArgName(ARG_NAME_TYPE)
+                                            .hasArg(true)
+                                            .withDescription(format("Where the table used by the tests is stored %s %s\nPossible types:\n", DEFAULT, ConfigConstants.ARG_BACKEND_HBASE) +
+                                                            ConfigConstants.ARG_BACKEND_HBASE + ": The HBase cluster reached through " + ConfigConstants.OPT_ZK_QUORUM + "\n" +
+                                                            ConfigConstants.ARG_BACKEND_MEMORY + ": A table held in the memory of the client, to measure the client-side limit of a test")
+                                            .create(ConfigConstants.OPT_BACKEND);
+
+        final Option memoryLatency = OptionBuilder.withArgName(ARG_NAME_COUNT + "," + ARG_NAME_COUNT)
+                                                  .hasArg(true)
+                                                  .withDescription(format("Min and max latency in microseconds injected into each call to the %s backend %s 0,0", ConfigConstants.ARG_BACKEND_MEMORY, DEFAULT))
+                                                  .create(ConfigConstants.OPT_MEMORY_LATENCY);
+
+        final Option memoryLatencyDistribution = OptionBuilder.withArgName(ARG_NAME_TYPE)
+                                                              .hasArg(true)
+                                                              .withDescription(format("The distribution of the latency injected by the %s backend, bounded by %s %s %s\nPossible types: %s, %s, %s",
+                                                                      ConfigConstants.ARG_BACKEND_MEMORY, ConfigConstants.OPT_MEMORY_LATENCY, DEFAULT, ConfigConstants.ARG_SIZE_UNIFORM,
+                                                                      ConfigConstants.ARG_SIZE_FIXED, ConfigConstants.ARG_SIZE_UNIFORM, ConfigConstants.ARG_SIZE_NORMAL))
+                                                              .create(ConfigConstants.OPT_MEMORY_LATENCY_DISTRIBUTION);
+
+        final Option memoryFailures = OptionBuilder.withArgName(ARG_NAME_PERCENT)
+                                                   .hasArg(true)
+                                                   .withDescription(format("The percentage of calls to the %s backend that fail %s 0", ConfigConstants.ARG_BACKEND_MEMORY, DEFAULT))
+                                                   .create(ConfigConstants.OPT_MEMORY_FAILURES);
+
+        final Option threads = OptionBuilder.withArgName(ARG_NAME_COUNT)
+                                            .hasArg(true)
+                                            .withDescription(format("The number of client threads concurrently executing the test, each with its own table connection and share of the rows %s %d", DEFAULT, Config.DEFAULT_THREADS))
+                                            .create(ConfigConstants.OPT_THREADS);
+
         CMD_LINE_OPTS.addOption(sqlTable);
         CMD_LINE_OPTS.addOption(columnFamily);
         CMD_LINE_OPTS.addOption(indexName);
@@ -135,15 +338,49 @@ public abstract class CommandOptions {
         CMD_LINE_OPTS.addOption(rowLength);
         CMD_LINE_OPTS.addOption(writeWAL);
         CMD_LINE_OPTS.addOption(autoFlush);
+        CMD_LINE_OPTS.addOption(writeBatch);
+        CMD_LINE_OPTS.addOption(writeWindow);
+        CMD_LINE_OPTS.addOption(payloadPool);
+        CMD_LINE_OPTS.addOption(rowKeyCache);
+        CMD_LINE_OPTS.addOption(legacyPayload);
+        CMD_LINE_OPTS.addOption(sizeDistribution);
+        CMD_LINE_OPTS.addOption(keySizeFile);
+        CMD_LINE_OPTS.addOption(rowSizeFile);
         CMD_LINE_OPTS.addOption(scanRange);
         CMD_LINE_OPTS.addOption(scanCache);
         CMD_LINE_OPTS.addOption(scanCount);
+        CMD_LINE_OPTS.addOption(scanParallelism);
+        CMD_LINE_OPTS.addOption(tuneCaching);
+        CMD_LINE_OPTS.addOption(tuneBatch);
         CMD_LINE_OPTS.addOption(deleteTable);
+        CMD_LINE_OPTS.addOption(prepare);
+        CMD_LINE_OPTS.addOption(bulkLoadDir);
+        CMD_LINE_OPTS.addOption(regions);
+        CMD_LINE_OPTS.addOption(splitAlgorithm);
         CMD_LINE_OPTS.addOption(runTimes);
         CMD_LINE_OPTS.addOption(execTime);
+        CMD_LINE_OPTS.addOption(targetOps);
+        CMD_LINE_OPTS.addOption(warmup);
+        CMD_LINE_OPTS.addOption(steadyState);
+        CMD_LINE_OPTS.addOption(threads);
+        CMD_LINE_OPTS.addOption(mix);
+        CMD_LINE_OPTS.addOption(multiGetSize);
+        CMD_LINE_OPTS.addOption(distribution);
+        CMD_LINE_OPTS.addOption(zipfConstant);
+        CMD_LINE_OPTS.addOption(hotspot);
         CMD_LINE_OPTS.addOption(zkQuorum);
         CMD_LINE_OPTS.addOption(zkClientPort);
         CMD_LINE_OPTS.addOption(toolTable);
+        CMD_LINE_OPTS.addOption(queryKeys);
+        CMD_LINE_OPTS.addOption(queryKeyFile);
+        CMD_LINE_OPTS.addOption(traceFile);
+        CMD_LINE_OPTS.addOption(replaySpeed);
+        CMD_LINE_OPTS.addOption(backend);
+        CMD_LINE_OPTS.addOption(memoryLatency);
+        CMD_LINE_OPTS.addOption(memoryLatencyDistribution);
+        CMD_LINE_OPTS.addOption(memoryFailures);
+        CMD_LINE_OPTS.addOption(resultsFile);
+        CMD_LINE_OPTS.addOption(reportInterval);
         CMD_LINE_OPTS.addOption(testType);
         CMD_LINE_OPTS.addOption(execType);
     }
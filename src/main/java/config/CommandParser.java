@@ -28,6 +28,21 @@ public abstract class CommandParser {
             config.setMaxRowLength(Integer.parseInt(optionValue[1]));
         }
 
+        if (line.hasOption(ConfigConstants.OPT_MIX)) {
+            String[] optionValue = line.getOptionValue(ConfigConstants.OPT_MIX).split(",");
+            config.setGetProportion(Double.parseDouble(optionValue[0]));
+            config.setPutProportion(Double.parseDouble(optionValue[1]));
+            config.setScanProportion(Double.parseDouble(optionValue[2]));
+            config.setMultiGetProportion(Double.parseDouble(optionValue[3]));
+            config.setDeleteProportion(Double.parseDouble(optionValue[4]));
+        }
+
+        if (line.hasOption(ConfigConstants.OPT_HOTSPOT)) {
+            String[] optionValue = line.getOptionValue(ConfigConstants.OPT_HOTSPOT).split(",");
+            config.setHotspotOpPercent(Double.parseDouble(optionValue[0]));
+            config.setHotspotKeyPercent(Double.parseDouble(optionValue[1]));
+        }
+
         if( line.hasOption(ConfigConstants.OPT_SQL_TABLE) ) {
             config.setSqlTable(line.getOptionValue(ConfigConstants.OPT_SQL_TABLE));
         }
@@ -56,6 +71,42 @@ public abstract class CommandParser {
             config.setScanCount(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_SCAN_COUNT)));
         }
 
+        if( line.hasOption(ConfigConstants.OPT_SCAN_PARALLELISM) ) {
+            config.setScanParallelism(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_SCAN_PARALLELISM)));
+        }
+
+        if (line.hasOption(ConfigConstants.OPT_TUNE_CACHING)) {
+            config.setTuneCaching(parseCounts(line.getOptionValue(ConfigConstants.OPT_TUNE_CACHING)));
+        }
+
+        if (line.hasOption(ConfigConstants.OPT_TUNE_BATCH)) {
+            config.setTuneBatch(parseCounts(line.getOptionValue(ConfigConstants.OPT_TUNE_BATCH)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_MULTIGET_SIZE) ) {
+            config.setMultiGetSize(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_MULTIGET_SIZE)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_DISTRIBUTION) ) {
+            config.setDistribution(line.getOptionValue(ConfigConstants.OPT_DISTRIBUTION));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_SIZE_DISTRIBUTION) ) {
+            config.setSizeDistribution(line.getOptionValue(ConfigConstants.OPT_SIZE_DISTRIBUTION));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_KEY_SIZE_FILE) ) {
+            config.setKeySizeFile(line.getOptionValue(ConfigConstants.OPT_KEY_SIZE_FILE));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_ROW_SIZE_FILE) ) {
+            config.setRowSizeFile(line.getOptionValue(ConfigConstants.OPT_ROW_SIZE_FILE));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_ZIPF_CONSTANT) ) {
+            config.setZipfConstant(Double.parseDouble(line.getOptionValue(ConfigConstants.OPT_ZIPF_CONSTANT)));
+        }
+
         if( line.hasOption(ConfigConstants.OPT_TEST_TYPE) ) {
             config.setTestType(line.getOptionValue(ConfigConstants.OPT_TEST_TYPE));
         }
@@ -72,6 +123,28 @@ public abstract class CommandParser {
             config.setExecutionTime(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_EXEC_TIME)));
         }
 
+        if( line.hasOption(ConfigConstants.OPT_TARGET_OPS) ) {
+            config.setTargetOps(Double.parseDouble(line.getOptionValue(ConfigConstants.OPT_TARGET_OPS)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_WARMUP) ) {
+            final String warmup = line.getOptionValue(ConfigConstants.OPT_WARMUP);
+
+            if( warmup.endsWith(ConfigConstants.ARG_WARMUP_OPS_SUFFIX) ) {
+                config.setWarmupOps(Long.parseLong(warmup.substring(0, warmup.length() - ConfigConstants.ARG_WARMUP_OPS_SUFFIX.length())));
+            } else {
+                config.setWarmupTime(Integer.parseInt(warmup));
+            }
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_STEADY_STATE) ) {
+            config.setSteadyStateVariation(Double.parseDouble(line.getOptionValue(ConfigConstants.OPT_STEADY_STATE)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_THREADS) ) {
+            config.setThreads(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_THREADS)));
+        }
+
         if( line.hasOption(ConfigConstants.OPT_ENABLE_WAL) ) {
             config.setWALEnabled(true);
         }
@@ -84,6 +157,84 @@ public abstract class CommandParser {
             config.setDeleteTable(true);
         }
 
+        if( line.hasOption(ConfigConstants.OPT_PREPARE) ) {
+            config.setPrepare(true);
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_BULK_LOAD_DIR) ) {
+            config.setBulkLoadDir(line.getOptionValue(ConfigConstants.OPT_BULK_LOAD_DIR));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_WRITE_BATCH) ) {
+            config.setWriteBatch(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_WRITE_BATCH)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_WRITE_WINDOW) ) {
+            config.setWriteWindow(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_WRITE_WINDOW)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_PAYLOAD_POOL) ) {
+            config.setPayloadPoolSize(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_PAYLOAD_POOL)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_ROW_KEY_CACHE) ) {
+            config.setRowKeyCacheSize(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_ROW_KEY_CACHE)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_LEGACY_PAYLOAD) ) {
+            config.setLegacyPayload(true);
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_REGIONS) ) {
+            config.setRegions(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_REGIONS)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_SPLIT_ALGORITHM) ) {
+            config.setSplitAlgorithm(line.getOptionValue(ConfigConstants.OPT_SPLIT_ALGORITHM));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_RESULTS_FILE) ) {
+            config.setResultsFile(line.getOptionValue(ConfigConstants.OPT_RESULTS_FILE));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_REPORT_INTERVAL) ) {
+            config.setReportInterval(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_REPORT_INTERVAL)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_QUERY_KEYS) ) {
+            config.setQueryKeyCount(Integer.parseInt(line.getOptionValue(ConfigConstants.OPT_QUERY_KEYS)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_QUERY_KEY_FILE) ) {
+            config.setQueryKeyFile(line.getOptionValue(ConfigConstants.OPT_QUERY_KEY_FILE));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_TRACE_FILE) ) {
+            config.setTraceFile(line.getOptionValue(ConfigConstants.OPT_TRACE_FILE));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_REPLAY_SPEED) ) {
+            config.setReplaySpeed(Double.parseDouble(line.getOptionValue(ConfigConstants.OPT_REPLAY_SPEED)));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_BACKEND) ) {
+            config.setBackend(line.getOptionValue(ConfigConstants.OPT_BACKEND));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_MEMORY_LATENCY) ) {
+            final String[] latency = line.getOptionValue(ConfigConstants.OPT_MEMORY_LATENCY).split(",");
+            config.setMinMemoryLatency(Integer.parseInt(latency[0]));
+            config.setMaxMemoryLatency(Integer.parseInt(latency[1]));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_MEMORY_LATENCY_DISTRIBUTION) ) {
+            config.setMemoryLatencyDistribution(line.getOptionValue(ConfigConstants.OPT_MEMORY_LATENCY_DISTRIBUTION));
+        }
+
+        if( line.hasOption(ConfigConstants.OPT_MEMORY_FAILURES) ) {
+            config.setMemoryFailurePercent(Double.parseDouble(line.getOptionValue(ConfigConstants.OPT_MEMORY_FAILURES)));
+        }
+
         if( line.hasOption(ConfigConstants.OPT_TOOL_TABLE) ) {
             config.setToolTable(line.getOptionValue(ConfigConstants.OPT_TOOL_TABLE));
         }
@@ -99,6 +250,23 @@ public abstract class CommandParser {
         return config;
     }
 
+    /**
+     * Parses a comma-separated list of counts
+     *
+     * @param optionValue The option value to parse
+     * @return The counts in the order given
+     */
+    private static int[] parseCounts(final String optionValue) {
+        final String[] values = optionValue.split(",");
+        final int[] counts = new int[values.length];
+
+        for(int index = 0; index < values.length; index++) {
+            counts[index] = Integer.parseInt(values[index].trim());
+        }
+
+        return counts;
+    }
+
     private CommandParser() {
 
     }
@@ -2,10 +2,14 @@ package config;
 
 import com.google.common.base.Objects;
 
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
 /**
  * Simple POJO bean that holds the application configuration settings
  */
-public final class Config {
+public final class Config implements Cloneable {
 
     public static final long DEFAULT_ROW_COUNT = 5000;
     public static final long DEFAULT_SCAN_RANGE_ROWS = 100;
@@ -15,6 +19,25 @@ public final class Config {
     public static final String DEFAULT_ZOOKEEPER_QUORUM = "localhost";
     public static final int DEFAULT_ZOOKEEPER_CLIENTPORT = 2181;
     public static final int DEFAULT_KEY_LENGTH = 380;
+    public static final int DEFAULT_THREADS = 1;
+    public static final int DEFAULT_MULTIGET_SIZE = 10;
+    public static final double DEFAULT_GET_PROPORTION = 70;
+    public static final double DEFAULT_PUT_PROPORTION = 20;
+    public static final double DEFAULT_SCAN_PROPORTION = 10;
+    public static final double DEFAULT_ZIPF_CONSTANT = 0.99;
+    public static final double DEFAULT_HOTSPOT_OP_PERCENT = 80;
+    public static final double DEFAULT_HOTSPOT_KEY_PERCENT = 20;
+    public static final int DEFAULT_REGIONS = 1;
+    public static final int DEFAULT_WRITE_BATCH = 1000;
+    public static final int DEFAULT_WRITE_WINDOW = 4;
+    public static final int DEFAULT_PAYLOAD_POOL_SIZE = 1024;
+    public static final int DEFAULT_ROW_KEY_CACHE_SIZE = 0;
+    public static final int DEFAULT_SCAN_PARALLELISM = 4;
+    public static final int DEFAULT_QUERY_KEY_COUNT = 5000;
+    public static final double DEFAULT_REPLAY_SPEED = 1;
+    public static final String DEFAULT_BULK_LOAD_DIR = "/tmp/hhbench-bulkload";
+    public static final int[] DEFAULT_TUNE_CACHING = { 1, 10, 100, 500, 1000, 5000 };
+    public static final int[] DEFAULT_TUNE_BATCH = { 0 };
     private String testType = "";
     private String execType = "";
     private String toolTable = ConfigConstants.TABLE_NAME;
@@ -24,11 +47,20 @@ public final class Config {
     private long scanRange = DEFAULT_SCAN_RANGE_ROWS;
     private int scanCache = DEFAULT_SCAN_CACHE_ROWS;
     private int scanCount = -1;
+    private int scanParallelism = DEFAULT_SCAN_PARALLELISM;
+    private int[] tuneCaching = DEFAULT_TUNE_CACHING;
+    private int[] tuneBatch = DEFAULT_TUNE_BATCH;
     private int runTimes = DEFAULT_RUN_TIMES;
     private int executionTime = DEFAULT_EXECUTION_TIME_MS;
+    private double targetOps = 0;
+    private int warmupTime = 0;
+    private long warmupOps = 0;
+    private double steadyStateVariation = 0;
     private boolean WALEnabled = false;
     private boolean autoFlushEnabled = false;
     private boolean deleteTable = false;
+    private boolean prepare = false;
+    private String bulkLoadDir = DEFAULT_BULK_LOAD_DIR;
     private int maxKeyLength = DEFAULT_KEY_LENGTH;
     private int minKeyLength = DEFAULT_KEY_LENGTH;
     private int maxRowLength = DEFAULT_KEY_LENGTH;
@@ -36,6 +68,41 @@ public final class Config {
     private String sqlTable;
     private String indexName;
     private String columnFamily = "a";
+    private int threads = DEFAULT_THREADS;
+    private int workerIndex = 0;
+    private long firstRow = 0;
+    private long keyspaceRowCount = -1;
+    private String distribution = "";
+    private double zipfConstant = DEFAULT_ZIPF_CONSTANT;
+    private double hotspotOpPercent = DEFAULT_HOTSPOT_OP_PERCENT;
+    private double hotspotKeyPercent = DEFAULT_HOTSPOT_KEY_PERCENT;
+    private int regions = DEFAULT_REGIONS;
+    private int writeBatch = DEFAULT_WRITE_BATCH;
+    private int writeWindow = DEFAULT_WRITE_WINDOW;
+    private int payloadPoolSize = DEFAULT_PAYLOAD_POOL_SIZE;
+    private int rowKeyCacheSize = DEFAULT_ROW_KEY_CACHE_SIZE;
+    private boolean legacyPayload = false;
+    private String sizeDistribution = "";
+    private String keySizeFile;
+    private String rowSizeFile;
+    private String resultsFile;
+    private int reportInterval = 0;
+    private String splitAlgorithm = ConfigConstants.ARG_SPLIT_ROWKEY;
+    private String backend = ConfigConstants.ARG_BACKEND_HBASE;
+    private int minMemoryLatency = 0;
+    private int maxMemoryLatency = 0;
+    private String memoryLatencyDistribution = ConfigConstants.ARG_SIZE_UNIFORM;
+    private double memoryFailurePercent = 0;
+    private int queryKeyCount = DEFAULT_QUERY_KEY_COUNT;
+    private String queryKeyFile;
+    private String traceFile;
+    private double replaySpeed = DEFAULT_REPLAY_SPEED;
+    private int multiGetSize = DEFAULT_MULTIGET_SIZE;
+    private double getProportion = DEFAULT_GET_PROPORTION;
+    private double putProportion = DEFAULT_PUT_PROPORTION;
+    private double scanProportion = DEFAULT_SCAN_PROPORTION;
+    private double multiGetProportion = 0;
+    private double deleteProportion = 0;
 
     public boolean isAutoFlushEnabled() {
         return autoFlushEnabled;
@@ -61,6 +128,42 @@ public final class Config {
         this.executionTime = executionTime;
     }
 
+    public double getTargetOps() {
+        return targetOps;
+    }
+
+    public void setTargetOps(double targetOps) {
+        this.targetOps = targetOps;
+    }
+
+    public int getWarmupTime() {
+        return warmupTime;
+    }
+
+    public void setWarmupTime(int warmupTime) {
+        this.warmupTime = warmupTime;
+    }
+
+    public long getWarmupOps() {
+        return warmupOps;
+    }
+
+    public void setWarmupOps(long warmupOps) {
+        this.warmupOps = warmupOps;
+    }
+
+    public double getSteadyStateVariation() {
+        return steadyStateVariation;
+    }
+
+    public void setSteadyStateVariation(double steadyStateVariation) {
+        this.steadyStateVariation = steadyStateVariation;
+    }
+
+    public boolean isWarmupEnabled() {
+        return warmupTime > 0 || warmupOps > 0 || steadyStateVariation > 0;
+    }
+
     public String getToolTable() {
         return toolTable;
     }
@@ -104,8 +207,32 @@ public final class Config {
         this.scanCache = scanCache;
     }
 
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    public void setScanParallelism(int scanParallelism) {
+        this.scanParallelism = scanParallelism;
+    }
+
+    public int[] getTuneCaching() {
+        return tuneCaching;
+    }
+
+    public void setTuneCaching(int[] tuneCaching) {
+        this.tuneCaching = tuneCaching;
+    }
+
+    public int[] getTuneBatch() {
+        return tuneBatch;
+    }
+
+    public void setTuneBatch(int[] tuneBatch) {
+        this.tuneBatch = tuneBatch;
+    }
+
     public long getBatchSize() {
-        return rowCount / 10L;
+        return Math.max(1L, rowCount / 10L);
     }
 
     public int getRunTimes() {
@@ -162,14 +289,52 @@ public final class Config {
                 .add("Test type", testType)
                 .add("Execution type", execType)
                 .add("Execution times", runTimes)
+                .add("Target operations per second", targetOps)
+                .add("Warmup time (ms)", warmupTime)
+                .add("Warmup operations", warmupOps)
+                .add("Steady state variation (%)", steadyStateVariation)
                 .add("Total row count", rowCount)
                 .add("Batch (interval) size", getBatchSize())
+                .add("Write batch (rows)", writeBatch)
+                .add("Write window (batches)", writeWindow)
+                .add("Payload pool size (values)", payloadPoolSize)
+                .add("Rowkey cache size (keys)", rowKeyCacheSize)
+                .add("Legacy payload generation", legacyPayload)
+                .add("Size distribution", sizeDistribution)
+                .add("Key length (min,max)", minKeyLength + "," + maxKeyLength)
+                .add("Row length (min,max)", minRowLength + "," + maxRowLength)
+                .add("Key size file", keySizeFile)
+                .add("Row size file", rowSizeFile)
                 .add("Write Ahead Log enabled", WALEnabled)
                 .add("Auto flush writes enabled", autoFlushEnabled)
                 .add("Scan range (rows)", scanRange)
                 .add("Scan cache (rows)", scanCache)
+                .add("Scan parallelism (threads)", scanParallelism)
+                .add("Tuned scan caching (rows)", Arrays.toString(tuneCaching))
+                .add("Tuned scan batch (columns)", Arrays.toString(tuneBatch))
+                .add("Client threads", threads)
+                .add("Multi-get size (rows)", multiGetSize)
+                .add("Key distribution", distribution)
+                .add("Zipfian constant", zipfConstant)
+                .add("Hotspot (op %,key %)", hotspotOpPercent + "," + hotspotKeyPercent)
+                .add("Operation mix (get,put,scan,multiGet,delete)", getProportion + "," + putProportion + ","
+                        + scanProportion + "," + multiGetProportion + "," + deleteProportion)
                 .add("Delete table enabled", deleteTable)
+                .add("Bulk load prepare enabled", prepare)
+                .add("Bulk load directory", bulkLoadDir)
+                .add("Pre-split regions", regions)
+                .add("Split algorithm", splitAlgorithm)
                 .add("Tool table", toolTable)
+                .add("Query keys", queryKeyCount)
+                .add("Query key file", queryKeyFile)
+                .add("Trace file", traceFile)
+                .add("Replay speed", replaySpeed)
+                .add("Backend", backend)
+                .add("Memory latency (min,max us)", minMemoryLatency + "," + maxMemoryLatency)
+                .add("Memory latency distribution", memoryLatencyDistribution)
+                .add("Memory failures (%)", memoryFailurePercent)
+                .add("Results file", resultsFile)
+                .add("Report interval (s)", reportInterval)
                 .add("Zookeeper quorum", zkQuorum)
                 .add("Zookeeper client port", zkClientPort)
                 .toString();
@@ -230,4 +395,333 @@ public final class Config {
     public void setColumnFamily(String columnFamily) {
         this.columnFamily = columnFamily;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getMultiGetSize() {
+        return multiGetSize;
+    }
+
+    public void setMultiGetSize(int multiGetSize) {
+        this.multiGetSize = multiGetSize;
+    }
+
+    public double getGetProportion() {
+        return getProportion;
+    }
+
+    public void setGetProportion(double getProportion) {
+        this.getProportion = getProportion;
+    }
+
+    public double getPutProportion() {
+        return putProportion;
+    }
+
+    public void setPutProportion(double putProportion) {
+        this.putProportion = putProportion;
+    }
+
+    public double getScanProportion() {
+        return scanProportion;
+    }
+
+    public void setScanProportion(double scanProportion) {
+        this.scanProportion = scanProportion;
+    }
+
+    public double getMultiGetProportion() {
+        return multiGetProportion;
+    }
+
+    public void setMultiGetProportion(double multiGetProportion) {
+        this.multiGetProportion = multiGetProportion;
+    }
+
+    public double getDeleteProportion() {
+        return deleteProportion;
+    }
+
+    public void setDeleteProportion(double deleteProportion) {
+        this.deleteProportion = deleteProportion;
+    }
+
+    public String getDistribution() {
+        return distribution;
+    }
+
+    public void setDistribution(String distribution) {
+        this.distribution = distribution;
+    }
+
+    public boolean isDistributionEnabled() {
+        return !distribution.isEmpty();
+    }
+
+    public double getZipfConstant() {
+        return zipfConstant;
+    }
+
+    public void setZipfConstant(double zipfConstant) {
+        this.zipfConstant = zipfConstant;
+    }
+
+    public double getHotspotOpPercent() {
+        return hotspotOpPercent;
+    }
+
+    public void setHotspotOpPercent(double hotspotOpPercent) {
+        this.hotspotOpPercent = hotspotOpPercent;
+    }
+
+    public double getHotspotKeyPercent() {
+        return hotspotKeyPercent;
+    }
+
+    public void setHotspotKeyPercent(double hotspotKeyPercent) {
+        this.hotspotKeyPercent = hotspotKeyPercent;
+    }
+
+    public int getWriteBatch() {
+        return writeBatch;
+    }
+
+    public void setWriteBatch(int writeBatch) {
+        this.writeBatch = writeBatch;
+    }
+
+    public int getWriteWindow() {
+        return writeWindow;
+    }
+
+    public void setWriteWindow(int writeWindow) {
+        this.writeWindow = writeWindow;
+    }
+
+    public int getPayloadPoolSize() {
+        return payloadPoolSize;
+    }
+
+    public void setPayloadPoolSize(int payloadPoolSize) {
+        this.payloadPoolSize = payloadPoolSize;
+    }
+
+    public int getRowKeyCacheSize() {
+        return rowKeyCacheSize;
+    }
+
+    public void setRowKeyCacheSize(int rowKeyCacheSize) {
+        this.rowKeyCacheSize = rowKeyCacheSize;
+    }
+
+    public boolean isLegacyPayload() {
+        return legacyPayload;
+    }
+
+    public void setLegacyPayload(boolean legacyPayload) {
+        this.legacyPayload = legacyPayload;
+    }
+
+    public String getSizeDistribution() {
+        return sizeDistribution;
+    }
+
+    public void setSizeDistribution(String sizeDistribution) {
+        this.sizeDistribution = sizeDistribution;
+    }
+
+    public boolean isSizeDistributionEnabled() {
+        return !sizeDistribution.isEmpty();
+    }
+
+    public String getKeySizeFile() {
+        return keySizeFile;
+    }
+
+    public void setKeySizeFile(String keySizeFile) {
+        this.keySizeFile = keySizeFile;
+    }
+
+    public String getRowSizeFile() {
+        return rowSizeFile;
+    }
+
+    public void setRowSizeFile(String rowSizeFile) {
+        this.rowSizeFile = rowSizeFile;
+    }
+
+    public String getResultsFile() {
+        return resultsFile;
+    }
+
+    public void setResultsFile(String resultsFile) {
+        this.resultsFile = resultsFile;
+    }
+
+    public int getReportInterval() {
+        return reportInterval;
+    }
+
+    public void setReportInterval(int reportInterval) {
+        this.reportInterval = reportInterval;
+    }
+
+    public int getRegions() {
+        return regions;
+    }
+
+    public void setRegions(int regions) {
+        this.regions = regions;
+    }
+
+    public String getSplitAlgorithm() {
+        return splitAlgorithm;
+    }
+
+    public void setSplitAlgorithm(String splitAlgorithm) {
+        this.splitAlgorithm = splitAlgorithm;
+    }
+
+    public int getWorkerIndex() {
+        return workerIndex;
+    }
+
+    public long getFirstRow() {
+        return firstRow;
+    }
+
+    /**
+     * @return The number of rows in the whole keyspace, which exceeds the row count of a
+     *         configuration created for a single worker
+     */
+    public long getKeyspaceRowCount() {
+        return keyspaceRowCount < 0 ? rowCount : keyspaceRowCount;
+    }
+
+    /**
+     * Creates a copy of this configuration restricted to the slice of the row
+     * keyspace assigned to the specified worker thread
+     *
+     * @param worker The zero-based index of the worker
+     * @return A configuration covering only the rows assigned to the worker
+     */
+    public Config forWorker(final int worker) {
+        checkElementIndex(worker, threads, "worker");
+
+        final Config workerConfig;
+        try {
+            workerConfig = (Config) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+
+        // Spread any remainder rows across the first workers
+        final long share = rowCount / threads;
+        final long remainder = rowCount % threads;
+
+        workerConfig.workerIndex = worker;
+        workerConfig.keyspaceRowCount = getKeyspaceRowCount();
+        workerConfig.firstRow = firstRow + worker * share + Math.min(worker, remainder);
+        workerConfig.rowCount = share + (worker < remainder ? 1 : 0);
+
+        return workerConfig;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public boolean isMemoryBackend() {
+        return backend.equals(ConfigConstants.ARG_BACKEND_MEMORY);
+    }
+
+    public int getMinMemoryLatency() {
+        return minMemoryLatency;
+    }
+
+    public void setMinMemoryLatency(int minMemoryLatency) {
+        this.minMemoryLatency = minMemoryLatency;
+    }
+
+    public int getMaxMemoryLatency() {
+        return maxMemoryLatency;
+    }
+
+    public void setMaxMemoryLatency(int maxMemoryLatency) {
+        this.maxMemoryLatency = maxMemoryLatency;
+    }
+
+    public String getMemoryLatencyDistribution() {
+        return memoryLatencyDistribution;
+    }
+
+    public void setMemoryLatencyDistribution(String memoryLatencyDistribution) {
+        this.memoryLatencyDistribution = memoryLatencyDistribution;
+    }
+
+    public double getMemoryFailurePercent() {
+        return memoryFailurePercent;
+    }
+
+    public void setMemoryFailurePercent(double memoryFailurePercent) {
+        this.memoryFailurePercent = memoryFailurePercent;
+    }
+
+    public int getQueryKeyCount() {
+        return queryKeyCount;
+    }
+
+    public void setQueryKeyCount(int queryKeyCount) {
+        this.queryKeyCount = queryKeyCount;
+    }
+
+    public String getQueryKeyFile() {
+        return queryKeyFile;
+    }
+
+    public void setQueryKeyFile(String queryKeyFile) {
+        this.queryKeyFile = queryKeyFile;
+    }
+
+    public String getTraceFile() {
+        return traceFile;
+    }
+
+    public void setTraceFile(String traceFile) {
+        this.traceFile = traceFile;
+    }
+
+    public double getReplaySpeed() {
+        return replaySpeed;
+    }
+
+    public void setReplaySpeed(double replaySpeed) {
+        this.replaySpeed = replaySpeed;
+    }
+
+    public boolean isPrepare() {
+        return prepare;
+    }
+
+    public void setPrepare(boolean prepare) {
+        this.prepare = prepare;
+    }
+
+    public String getBulkLoadDir() {
+        return bulkLoadDir;
+    }
+
+    public void setBulkLoadDir(String bulkLoadDir) {
+        this.bulkLoadDir = bulkLoadDir;
+    }
 }
@@ -14,6 +14,8 @@ public abstract class ConfigConstants {
 
     public static final String OPT_ROW_COUNT = "rowCount";
     public static final String OPT_DELETE_TABLE = "deleteTable";
+    public static final String OPT_PREPARE = "prepare";
+    public static final String OPT_BULK_LOAD_DIR = "bulkLoadDir";
 
     public static final String OPT_ENABLE_WAL = "enableWAL";
     public static final String OPT_ENABLE_AUTOFLUSH = "autoFlush";
@@ -21,11 +23,17 @@ public abstract class ConfigConstants {
     public static final String OPT_SCAN_RANGE = "scanRange";
     public static final String OPT_SCAN_CACHE = "scanCache";
     public static final String OPT_SCAN_COUNT = "scanCount";
+    public static final String OPT_SCAN_PARALLELISM = "scanParallelism";
+    public static final String OPT_TUNE_CACHING = "tuneCaching";
+    public static final String OPT_TUNE_BATCH = "tuneBatch";
 
     public static final String OPT_RUN_TIMES = "runTimes";
 
     public static final String OPT_EXEC_TYPE = "execType";
     public static final String OPT_EXEC_TIME = "execTime";
+    public static final String OPT_TARGET_OPS = "targetOps";
+    public static final String OPT_WARMUP = "warmup";
+    public static final String OPT_STEADY_STATE = "steadyState";
 
     public static final String OPT_TEST_TYPE = "testType";
 
@@ -33,10 +41,36 @@ public abstract class ConfigConstants {
     public static final String OPT_ZK_CLIENTPORT = "zkPort";
 
     public static final String OPT_TOOL_TABLE = "toolTable";
+    public static final String OPT_RESULTS_FILE = "resultsFile";
+    public static final String OPT_REPORT_INTERVAL = "reportInterval";
     public static final String OPT_KEY_LENGTH = "keyLength";
     public static final String OPT_ROW_LENGTH = "rowLength";
     public static final String OPT_SQL_TABLE = "sqlTable";
     public static final String OPT_INDEX_NAME = "indexName";
+    public static final String OPT_THREADS = "threads";
+    public static final String OPT_MIX = "mix";
+    public static final String OPT_MULTIGET_SIZE = "multiGetSize";
+    public static final String OPT_DISTRIBUTION = "distribution";
+    public static final String OPT_ZIPF_CONSTANT = "zipfConstant";
+    public static final String OPT_HOTSPOT = "hotspot";
+    public static final String OPT_REGIONS = "regions";
+    public static final String OPT_WRITE_BATCH = "writeBatch";
+    public static final String OPT_WRITE_WINDOW = "writeWindow";
+    public static final String OPT_PAYLOAD_POOL = "payloadPool";
+    public static final String OPT_ROW_KEY_CACHE = "rowKeyCache";
+    public static final String OPT_LEGACY_PAYLOAD = "legacyPayload";
+    public static final String OPT_SIZE_DISTRIBUTION = "sizeDistribution";
+    public static final String OPT_KEY_SIZE_FILE = "keySizeFile";
+    public static final String OPT_ROW_SIZE_FILE = "rowSizeFile";
+    public static final String OPT_SPLIT_ALGORITHM = "splitAlgorithm";
+    public static final String OPT_BACKEND = "backend";
+    public static final String OPT_QUERY_KEYS = "queryKeys";
+    public static final String OPT_QUERY_KEY_FILE = "queryKeyFile";
+    public static final String OPT_TRACE_FILE = "traceFile";
+    public static final String OPT_REPLAY_SPEED = "replaySpeed";
+    public static final String OPT_MEMORY_LATENCY = "memoryLatency";
+    public static final String OPT_MEMORY_LATENCY_DISTRIBUTION = "memoryLatencyDistribution";
+    public static final String OPT_MEMORY_FAILURES = "memoryFailures";
 
 
     // Arguments used to specify the test type
@@ -44,14 +78,48 @@ public abstract class ConfigConstants {
     public static final String ARG_TEST_SCAN = "scan";
     public static final String ARG_TEST_RANDSCAN = "randomScan";
     public static final String ARG_TEST_HCRANGESCAN = "hcRangeScan";
+    public static final String ARG_TEST_HCRANDOMSCAN = "hcRandomScan";
     public static final String ARG_TEST_GETROW = "getRow";
     public static final String ARG_TEST_BATCHWRITE = "batchWrite";
     public static final String ARG_TEST_HCWRITE = "hcWrite";
+    public static final String ARG_TEST_HCPARALLELWRITE = "hcParallelWrite";
     public static final String ARG_TEST_SEQWRITE = "seqWrite";
+    public static final String ARG_TEST_MIXED = "mixed";
+    public static final String ARG_TEST_PIPELINEDWRITE = "pipelinedWrite";
+    public static final String ARG_TEST_MULTIGET = "multiGet";
+    public static final String ARG_TEST_PARALLELSCAN = "parallelScan";
+    public static final String ARG_TEST_SCANTUNE = "scanTune";
+    public static final String ARG_TEST_REPLAY = "replay";
 
     // Arguments used to specify the test execution type
     public static final String ARG_EXEC_TIMED = "timed";
     public static final String ARG_EXEC_COUNT = "count";
+    public static final String ARG_EXEC_RATE = "rate";
+
+    // Arguments used to specify the key access distribution
+    public static final String ARG_DIST_UNIFORM = "uniform";
+    public static final String ARG_DIST_ZIPFIAN = "zipfian";
+    public static final String ARG_DIST_SCRAMBLED_ZIPFIAN = "scrambledZipfian";
+    public static final String ARG_DIST_HOTSPOT = "hotspot";
+    public static final String ARG_DIST_LATEST = "latest";
+
+    // Arguments used to specify the distribution of the key and value sizes
+    public static final String ARG_SIZE_FIXED = "fixed";
+    public static final String ARG_SIZE_UNIFORM = "uniform";
+    public static final String ARG_SIZE_NORMAL = "normal";
+    public static final String ARG_SIZE_HISTOGRAM = "histogram";
+
+    // Arguments used to specify how the table is pre-split into regions
+    public static final String ARG_SPLIT_ROWKEY = "rowkey";
+    public static final String ARG_SPLIT_UNIFORM = "uniform";
+    public static final String ARG_SPLIT_HEX = "hex";
+
+    // Arguments used to specify where the table used by the tests is stored
+    public static final String ARG_BACKEND_HBASE = "hbase";
+    public static final String ARG_BACKEND_MEMORY = "memory";
+
+    // Suffix used to specify the warmup as an operation count instead of a time
+    public static final String ARG_WARMUP_OPS_SUFFIX = "ops";
     public static final String OPT_COLUMN_FAMILY = "columnFamily";
 
 
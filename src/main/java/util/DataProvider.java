@@ -6,6 +6,8 @@ import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.nearinfinity.honeycomb.hbase.rowkey.DataRowKey;
 import com.nearinfinity.honeycomb.mysql.QueryKey;
 import com.nearinfinity.honeycomb.mysql.gen.ColumnType;
 import com.nearinfinity.honeycomb.mysql.gen.QueryType;
@@ -13,7 +15,11 @@ import com.nearinfinity.honeycomb.mysql.schema.ColumnSchema;
 import com.nearinfinity.honeycomb.mysql.schema.IndexSchema;
 import com.nearinfinity.honeycomb.mysql.schema.TableSchema;
 
+import util.sizes.SizeDistribution;
+import util.trace.Trace;
+
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -22,11 +28,15 @@ import java.util.UUID;
  */
 public abstract class DataProvider {
 
-    private static final String HC_INDEX_NAME = "idxName";
-
     private static final String[] COL_NAMES = { "firstName", "lastName",
         "address", "zip", "state", "country", "phone", "salary", "fk"};
 
+    /**
+     * The name of the index used for Honeycomb tests and the column it indexes
+     */
+    public static final String HC_INDEX_NAME = "idxName";
+    public static final String HC_INDEXED_COLUMN = COL_NAMES[0];
+
     /**
      * Collection of column names and test data used by the tests
      */
@@ -42,6 +52,19 @@ public abstract class DataProvider {
             .put(COL_NAMES[8], ByteBuffer.allocate(4).putInt(1))
             .build();
 
+    /**
+     * The values of the indexed column, one of which is chosen for every row written by
+     * the Honeycomb tests, so that the rows and the scans drawing their start values from
+     * the same names are spread throughout the index
+     */
+    public static final List<String> HC_INDEXED_VALUES = ImmutableList.of(
+            "Abigail", "Benjamin", "Charlotte", "Daniel", "Eleanor", "Felix", "Grace", "Henry",
+            "Isabel", "Jasper", "Katherine", "Leonard", "Martin", "Natalie", "Oliver", "Penelope",
+            "Quincy", "Rebecca", "Samuel", "Theodora", "Ulysses", "Victoria", "Walter", "Xavier",
+            "Yvonne", "Zachary");
+
+    private static final List<Map<String, ByteBuffer>> HC_ROW_DATA = createRowData();
+
     /**
      * Arbitrary {@link UUID} used to identify a row
      * @see GetRowTest
@@ -80,9 +103,55 @@ public abstract class DataProvider {
      */
     public static QueryKey HC_QUERY_KEY = new QueryKey(HC_INDEX_NAME, QueryType.EXACT_KEY,
             ImmutableMap.<String, ByteBuffer>of(COL_NAMES[0], ByteBuffer.wrap("Penelope".getBytes(Charsets.UTF_8))));
-    public static byte[][] QUERY_KEYS;
+
+    /**
+     * The index keys from which the random scans start, or null if the test does not
+     * use them
+     */
+    public static QueryKeys QUERY_KEYS;
+
+    /**
+     * The recorded operations replayed by the replay test, or null if the test does not
+     * use them
+     */
+    public static Trace TRACE;
+
+    /**
+     * Pre-built row values and rowkeys shared by the tests, or null to generate every
+     * row individually
+     */
+    public static PayloadPool PAYLOAD_POOL;
+
+    /**
+     * Distributions of the rowkey and row value sizes, or null to use the encoded
+     * {@link DataRowKey}s and serialized {@link #COL_DATA} rows as they are
+     */
+    public static SizeDistribution KEY_SIZES;
+    public static SizeDistribution ROW_SIZES;
 
     private DataProvider() {
 
     }
+
+    /**
+     * Chooses the column data of a Honeycomb row, which is {@link #COL_DATA} with one of
+     * the {@link #HC_INDEXED_VALUES} in the indexed column
+     *
+     * @param random The random number generator owned by the calling thread
+     * @return The column data
+     */
+    public static Map<String, ByteBuffer> hcRowData(final FastRandom random) {
+        return HC_ROW_DATA.get(random.nextInt(HC_ROW_DATA.size()));
+    }
+
+    private static List<Map<String, ByteBuffer>> createRowData() {
+        final ImmutableList.Builder<Map<String, ByteBuffer>> rows = ImmutableList.builder();
+        for(final String value : HC_INDEXED_VALUES) {
+            final Map<String, ByteBuffer> columns = Maps.newHashMap(COL_DATA);
+            columns.put(HC_INDEXED_COLUMN, ByteBuffer.wrap(value.getBytes(Charsets.UTF_8)));
+            rows.add(ImmutableMap.copyOf(columns));
+        }
+
+        return rows.build();
+    }
 }
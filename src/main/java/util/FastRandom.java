@@ -0,0 +1,74 @@
+package util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Fast, non-locking pseudo-random number generator based on the xorshift64* algorithm.
+ * <p>
+ * Unlike {@link java.util.Random}, no atomic update is performed when generating a value,
+ * so an instance must not be shared between threads; use {@link Utils#threadRandom()} to
+ * obtain the instance owned by the current thread.
+ */
+public final class FastRandom {
+    private static final long MULTIPLIER = 0x2545F4914F6CDD1DL;
+    private static final double DOUBLE_UNIT = 1.0 / (1L << 53);
+
+    private long state;
+
+    /**
+     *
+     *
+     * @param seed The initial seed, any value
+     */
+    public FastRandom(final long seed) {
+        // Spread the seed bits and avoid the all-zero state, which xorshift cannot leave
+        final long mixed = (seed ^ 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        state = mixed == 0 ? MULTIPLIER : mixed;
+    }
+
+    public long nextLong() {
+        state ^= state >>> 12;
+        state ^= state << 25;
+        state ^= state >>> 27;
+        return state * MULTIPLIER;
+    }
+
+    /**
+     * @return A uniformly distributed value in the range [0, 1)
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Fills an array with random bytes
+     *
+     * @param bytes The array to fill
+     */
+    public void nextBytes(final byte[] bytes) {
+        int index = 0;
+        while( index < bytes.length ) {
+            for(long value = nextLong(), remaining = Math.min(bytes.length - index, 8); remaining > 0; remaining--, value >>>= 8) {
+                bytes[index++] = (byte) value;
+            }
+        }
+    }
+
+    /**
+     * @param bound The exclusive upper bound, positive
+     * @return A uniformly distributed value in the range [0, bound)
+     */
+    public long nextLong(final long bound) {
+        checkArgument(bound > 0, "The bound must be positive");
+
+        return (long) (nextDouble() * bound);
+    }
+
+    /**
+     * @param bound The exclusive upper bound, positive
+     * @return A uniformly distributed value in the range [0, bound)
+     */
+    public int nextInt(final int bound) {
+        return (int) nextLong(bound);
+    }
+}
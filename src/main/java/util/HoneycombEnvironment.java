@@ -7,25 +7,68 @@ import com.nearinfinity.honeycomb.mysql.HandlerProxy;
 import com.nearinfinity.honeycomb.mysql.HandlerProxyFactory;
 
 /**
- * Configures the Honeycomb environment required to use a {@link HandlerProxy}
+ * Configures the Honeycomb environment required to use a {@link HandlerProxy}.  The
+ * environment is safe to share between threads, but each {@link HandlerProxy} must only
+ * be used by one thread at a time.
  */
 public final class HoneycombEnvironment {
     private static final Logger log = Logger.getLogger(HoneycombEnvironment.class);
 
     private HandlerProxyFactory factory;
     private HandlerProxy proxy;
+    private boolean testTableCreated = false;
 
-    public HandlerProxy setupEnvironment() {
-        if( factory == null ) {
-            factory = Bootstrap.startup("/usr/share/mysql/honeycomb/honeycomb-test.xml", "/usr/share/mysql/honeycomb/honeycomb.xsd");
+    private final ThreadLocal<HandlerProxy> threadProxy = new ThreadLocal<HandlerProxy>() {
+        @Override
+        protected HandlerProxy initialValue() {
+            return createProxy();
         }
+    };
 
+    public synchronized HandlerProxy setupEnvironment() {
         if( proxy == null ) {
-            proxy = factory.createHandlerProxy();
+            proxy = createProxy();
         }
 
-        log.debug("Ignoring command line configuration arguments; using value from specified XML file");
-
         return proxy;
     }
+
+    /**
+     * Creates a new proxy from the shared {@link HandlerProxyFactory}, for use by a single
+     * thread in the same way as a MySQL connection
+     *
+     * @return The new proxy
+     */
+    public synchronized HandlerProxy createProxy() {
+        if( factory == null ) {
+            factory = Bootstrap.startup("/usr/share/mysql/honeycomb/honeycomb-test.xml", "/usr/share/mysql/honeycomb/honeycomb.xsd");
+
+            log.debug("Ignoring command line configuration arguments; using value from specified XML file");
+        }
+
+        return factory.createHandlerProxy();
+    }
+
+    /**
+     * Fetches the proxy owned by the current thread, creating it the first time it is
+     * requested
+     *
+     * @return The proxy of the current thread, which must not be passed to other threads
+     */
+    public HandlerProxy threadProxy() {
+        return threadProxy.get();
+    }
+
+    /**
+     * Creates the SQL table used by the Honeycomb tests the first time it is requested
+     * through this environment, so that concurrent writers share a single table
+     *
+     * @param creator The proxy used to create the table
+     */
+    public synchronized void createTestTable(final HandlerProxy creator) {
+        if( !testTableCreated ) {
+            creator.createTable(DataProvider.HC_TEST_TABLE, DataProvider.HC_TABLE_SCHEMA.serialize(), 1);
+            testTableCreated = true;
+        }
+    }
 }
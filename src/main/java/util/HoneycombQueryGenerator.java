@@ -1,5 +1,6 @@
 package util;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
@@ -15,36 +16,76 @@ import config.Config;
 import org.apache.hadoop.hbase.HConstants;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+/**
+ * Generates the encoded index rowkeys from which the random scans start.  The keys are
+ * encoded concurrently in equal shares, one share for each processor, since an
+ * {@link IndexRowKeyBuilder} is not safe to share between threads.
+ */
 public class HoneycombQueryGenerator {
-    public static byte[][] generate(Config appConfig) {
+    public static byte[][] generate(final Config appConfig, final int count) {
         Map<String, String> map = Maps.newHashMap();
         map.put(HConstants.ZOOKEEPER_QUORUM, appConfig.getZkQuorum());
         map.put(ConfigConstants.TABLE_NAME, appConfig.getToolTable());
         map.put(ConfigConstants.COLUMN_FAMILY, appConfig.getColumnFamily());
         Injector injector = Guice.createInjector(new HBaseModule(map));
         HBaseStore store = injector.getInstance(HBaseStore.class);
-        long tableId = store.getTableId(appConfig.getSqlTable());
-        long indexId = store.getIndexId(tableId, appConfig.getIndexName());
-        TableSchema schema = store.getSchema(tableId);
-        IndexRowKeyBuilder builder = IndexRowKeyBuilder
-                .newBuilder(tableId, indexId)
-                .withSortOrder(SortOrder.Ascending);
-        final int length = 5000;
-        byte[][] generated = new byte[length][];
-        for (int i = 0; i < length; i++) {
-            generated[i] = generatePersonQuery(schema, builder);
+        final long tableId = store.getTableId(appConfig.getSqlTable());
+        final long indexId = store.getIndexId(tableId, appConfig.getIndexName());
+        final TableSchema schema = store.getSchema(tableId);
+
+        final byte[][] generated = new byte[count][];
+        final int shares = Math.max(1, Math.min(count, Runtime.getRuntime().availableProcessors()));
+        final ExecutorService executor = Executors.newFixedThreadPool(shares, new WorkerThreadFactory(HoneycombQueryGenerator.class.getSimpleName(), true));
+
+        try {
+            final List<Future<?>> results = Lists.newArrayList();
+            for (int share = 0; share < shares; share++) {
+                final int start = (int) ((long) count * share / shares);
+                final int end = (int) ((long) count * (share + 1) / shares);
+
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        IndexRowKeyBuilder builder = IndexRowKeyBuilder
+                                .newBuilder(tableId, indexId)
+                                .withSortOrder(SortOrder.Ascending);
+                        FastRandom random = Utils.threadRandom();
+                        for (int i = start; i < end; i++) {
+                            generated[i] = generatePersonQuery(schema, builder, random);
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Query key generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Query key generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
 
         return generated;
     }
 
-    private static byte[] generatePersonQuery(TableSchema schema, IndexRowKeyBuilder builder) {
+    private static byte[] generatePersonQuery(TableSchema schema, IndexRowKeyBuilder builder, FastRandom random) {
         Map<String, ByteBuffer> values = Maps.newHashMap();
-        ByteBuffer value = (ByteBuffer) ByteBuffer.allocate(8).putLong(Utils.RANDOM.nextLong() % 100000).rewind();
+        ByteBuffer value = (ByteBuffer) ByteBuffer.allocate(8).putLong(random.nextLong() % 100000).rewind();
         values.put("salary", value);
         QueryKey key = new QueryKey("salary", QueryType.KEY_OR_NEXT, values);
         return builder.withQueryKey(key,schema).build().encode();
     }
-}
\ No newline at end of file
+}
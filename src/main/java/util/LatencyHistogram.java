@@ -0,0 +1,175 @@
+package util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Fixed-size histogram of latency values recorded at microsecond resolution.
+ * <p>
+ * Values are grouped into logarithmic buckets, each power of two being divided into
+ * {@value #HALF_SUB_BUCKET_COUNT} linear sub-buckets, which bounds the relative error
+ * of any reported percentile to less than 1% while keeping the memory used constant
+ * no matter how many values are recorded.  Histograms can be merged, which allows each
+ * worker thread to record into its own instance without any synchronization.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+
+    /**
+     * The largest trackable value, roughly 12 days; larger values are clamped to it
+     */
+    public static final long MAX_VALUE = (1L << 40) - 1;
+
+    static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount = 0;
+    private long totalSum = 0;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue = 0;
+
+    /**
+     * Records a single latency value
+     *
+     * @param micros The latency to record, in microseconds
+     */
+    public void recordValue(final long micros) {
+        final long value = clamp(micros);
+
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        totalSum += value;
+        minValue = Math.min(minValue, value);
+        maxValue = Math.max(maxValue, value);
+    }
+
+    /**
+     * Records a number of values falling into the same bucket, as counted by a
+     * {@link LatencyRecorder}.  The exact values are unknown, so the sum, minimum and
+     * maximum are tracked using the highest and lowest values equivalent to the bucket.
+     *
+     * @param index The index of the bucket
+     * @param count The number of values to record
+     */
+    void recordBucket(final int index, final long count) {
+        counts[index] += count;
+        totalCount += count;
+        totalSum += highestEquivalentValue(index) * count;
+        minValue = Math.min(minValue, lowestEquivalentValue(index));
+        maxValue = Math.max(maxValue, highestEquivalentValue(index));
+    }
+
+    /**
+     * Adds all of the values recorded by another histogram to this one
+     *
+     * @param other The histogram to merge, not null
+     */
+    public void add(final LatencyHistogram other) {
+        checkNotNull(other);
+
+        for(int index = 0; index < BUCKET_COUNT; index++) {
+            counts[index] += other.counts[index];
+        }
+
+        totalCount += other.totalCount;
+        totalSum += other.totalSum;
+        minValue = Math.min(minValue, other.minValue);
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    /**
+     * Discards all of the recorded values
+     */
+    public void reset() {
+        for(int index = 0; index < BUCKET_COUNT; index++) {
+            counts[index] = 0;
+        }
+
+        totalCount = 0;
+        totalSum = 0;
+        minValue = Long.MAX_VALUE;
+        maxValue = 0;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : minValue;
+    }
+
+    public long getMax() {
+        return maxValue;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) totalSum / totalCount;
+    }
+
+    /**
+     * Computes the value below which the specified percentage of recorded values fall
+     *
+     * @param percentile The percentile to compute, in the range (0, 100]
+     * @return The highest value equivalent to the percentile, in microseconds
+     */
+    public long getPercentile(final double percentile) {
+        checkArgument(percentile > 0 && percentile <= 100, "The percentile must be in the range (0, 100]");
+
+        if( totalCount == 0 ) {
+            return 0;
+        }
+
+        final long target = Math.max(1L, (long) Math.ceil(percentile / 100 * totalCount));
+        long cumulative = 0;
+
+        for(int index = 0; index < BUCKET_COUNT; index++) {
+            cumulative += counts[index];
+
+            if( cumulative >= target ) {
+                return Math.min(highestEquivalentValue(index), maxValue);
+            }
+        }
+
+        return maxValue;
+    }
+
+    static long clamp(final long micros) {
+        return Math.min(Math.max(micros, 0L), MAX_VALUE);
+    }
+
+    static int bucketIndex(final long value) {
+        if( value < SUB_BUCKET_COUNT ) {
+            return (int) value;
+        }
+
+        // Shift the value so that it lands in the upper half of the sub-buckets
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+
+        return (shift + 1) * HALF_SUB_BUCKET_COUNT + (int) (value >>> shift) - HALF_SUB_BUCKET_COUNT;
+    }
+
+    private static long lowestEquivalentValue(final int index) {
+        if( index < SUB_BUCKET_COUNT ) {
+            return index;
+        }
+
+        final int shift = index / HALF_SUB_BUCKET_COUNT - 1;
+        final long subBucket = index % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+
+        return subBucket << shift;
+    }
+
+    private static long highestEquivalentValue(final int index) {
+        if( index < SUB_BUCKET_COUNT ) {
+            return index;
+        }
+
+        final int shift = index / HALF_SUB_BUCKET_COUNT - 1;
+        final long subBucket = index % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
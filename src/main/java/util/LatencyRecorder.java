@@ -0,0 +1,50 @@
+package util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records latency values from a single writer thread so that they can be harvested by
+ * another thread while recording continues.
+ * <p>
+ * Values are counted in the same buckets as a {@link LatencyHistogram}.  The writer only
+ * performs an ordered write of its own counter, with no compare-and-set or lock, and the
+ * reader keeps the counts it last harvested, so each harvest yields exactly the values
+ * recorded since the previous one.  Only one thread may record and only one thread may
+ * harvest.
+ */
+public final class LatencyRecorder {
+    private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKET_COUNT);
+    private final long[] harvested = new long[LatencyHistogram.BUCKET_COUNT];
+
+    /**
+     * Records a single latency value, called only by the writer thread
+     *
+     * @param micros The latency to record, in microseconds
+     */
+    public void recordValue(final long micros) {
+        final int index = LatencyHistogram.bucketIndex(LatencyHistogram.clamp(micros));
+
+        counts.lazySet(index, counts.get(index) + 1);
+    }
+
+    /**
+     * Adds the values recorded since the previous harvest to a histogram, called only by
+     * the reader thread
+     *
+     * @param interval The histogram receiving the values, not null
+     */
+    public void harvestInto(final LatencyHistogram interval) {
+        checkNotNull(interval);
+
+        for(int index = 0; index < harvested.length; index++) {
+            final long count = counts.get(index);
+
+            if( count != harvested[index] ) {
+                interval.recordBucket(index, count - harvested[index]);
+                harvested[index] = count;
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import util.sizes.SizeDistribution;
+
+import com.nearinfinity.honeycomb.mysql.Row;
+
+/**
+ * Pre-built pool of the data written by the tests, so that generating a row costs the
+ * client as little CPU as possible.
+ * <p>
+ * A fixed number of distinct row values are serialized up front and handed out in a
+ * random rotation.  Optionally, the encoded rowkeys of the first rows of the keyspace
+ * are cached the first time they are requested, which only pays off when the same rows
+ * are read repeatedly, since the write tests encode every key once.  The pool is
+ * immutable apart from the key cache, which is safe to fill concurrently, so a single
+ * pool is shared by every worker thread.  Since HBase never modifies the arrays given to
+ * it, the same arrays are reused by many {@link org.apache.hadoop.hbase.client.Put}s.
+ */
+public final class PayloadPool {
+    private final byte[][] values;
+    private final AtomicReferenceArray<byte[]> rowKeys;
+
+    /**
+     *
+     *
+     * @param valueCount The number of distinct row values to pre-serialize, positive
+     * @param cachedRowKeys The number of rowkeys at the start of the keyspace to cache, or 0 to encode every key
+     * @param valueSizes The distribution of the value sizes, or null to pool serialized rows
+     */
+    public PayloadPool(final int valueCount, final int cachedRowKeys, final SizeDistribution valueSizes) {
+        checkArgument(valueCount > 0, "The payload pool must contain at least one value");
+        checkArgument(cachedRowKeys >= 0, "The number of cached rowkeys must not be negative");
+
+        final FastRandom random = Utils.threadRandom();
+
+        values = new byte[valueCount][];
+        for(int index = 0; index < valueCount; index++) {
+            if( valueSizes == null ) {
+                values[index] = new Row(DataProvider.COL_DATA, UUID.randomUUID()).serialize();
+            } else {
+                // Take evenly spaced quantiles so that the pool covers the whole distribution
+                values[index] = Utils.generateRowValue(valueSizes.size((index + 0.5) / valueCount), random);
+            }
+        }
+
+        rowKeys = new AtomicReferenceArray<byte[]>(cachedRowKeys);
+    }
+
+    /**
+     * Chooses one of the pre-serialized row values
+     *
+     * @param random The random number generator owned by the calling thread
+     * @return The serialized row value, which must not be modified
+     */
+    public byte[] nextValue(final FastRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Fetches the encoded rowkey of a row, encoding it only the first time a cached key
+     * is requested and every time for the rows beyond the cache
+     *
+     * @param tableId The identifier of the row
+     * @return The encoded rowkey, which must not be modified
+     */
+    public byte[] rowKey(final long tableId) {
+        if( tableId < 0 || tableId >= rowKeys.length() ) {
+            return Utils.encodeRowKey(tableId);
+        }
+
+        final int index = (int) tableId;
+        byte[] rowKey = rowKeys.get(index);
+
+        if( rowKey == null ) {
+            // Concurrent callers may both encode the key, but always to the same value
+            rowKey = Utils.encodeRowKey(tableId);
+            rowKeys.lazySet(index, rowKey);
+        }
+
+        return rowKey;
+    }
+}
@@ -0,0 +1,171 @@
+package util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.commons.io.IOUtils;
+
+import com.google.common.base.Charsets;
+
+/**
+ * An immutable list of the keys from which the random scans start, held in a compact
+ * binary form that can be written to a file and memory-mapped by later runs instead of
+ * being generated again.  A mapped list is read from the page cache, so a large number
+ * of keys takes no heap.  Every list names the source its keys were generated from, such
+ * as the table and index they refer to, so that a file generated for another source is
+ * not reused.
+ * <p>
+ * The form is a magic number, the number of keys and the length of the UTF-8 encoded
+ * source followed by the source, then the offset of each key and of the end of the last
+ * key relative to the start of the key data, then the keys themselves.  All numbers are
+ * big-endian 32-bit integers.
+ */
+public final class QueryKeys {
+    private static final int MAGIC = 0x48514B32;
+    private static final int HEADER_BYTES = 12;
+
+    private final ByteBuffer buffer;
+    private final String source;
+    private final int count;
+    private final int offsetStart;
+    private final int dataStart;
+
+    private QueryKeys(final ByteBuffer keys) {
+        checkArgument(keys.limit() >= HEADER_BYTES && keys.getInt(0) == MAGIC, "The query keys are not in the expected format");
+
+        count = keys.getInt(4);
+        final int sourceLength = keys.getInt(8);
+        checkArgument(count >= 0 && sourceLength >= 0 && HEADER_BYTES + (long) sourceLength + (count + 1) * 4L <= keys.limit(),
+                "The query keys are truncated");
+
+        offsetStart = HEADER_BYTES + sourceLength;
+        dataStart = offsetStart + (count + 1) * 4;
+
+        // Check every offset now, so that a truncated or damaged list fails before the test starts
+        int previous = 0;
+        for(int index = 0; index <= count; index++) {
+            final int offset = keys.getInt(offsetStart + index * 4);
+            checkArgument(offset >= previous && dataStart + (long) offset <= keys.limit(), "The query keys are truncated");
+            previous = offset;
+        }
+
+        final byte[] sourceBytes = new byte[sourceLength];
+        final ByteBuffer view = keys.duplicate();
+        view.position(HEADER_BYTES);
+        view.get(sourceBytes);
+
+        buffer = keys;
+        source = new String(sourceBytes, Charsets.UTF_8);
+    }
+
+    /**
+     * Stores the specified keys in the compact form
+     *
+     * @param keySource The name of the source the keys were generated from, not null
+     * @param keys The keys, not null
+     * @return The list of keys
+     */
+    public static QueryKeys of(final String keySource, final byte[][] keys) {
+        final byte[] sourceBytes = keySource.getBytes(Charsets.UTF_8);
+
+        int dataBytes = 0;
+        for(final byte[] key : keys) {
+            dataBytes += key.length;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + sourceBytes.length + (keys.length + 1) * 4 + dataBytes);
+        buffer.putInt(MAGIC).putInt(keys.length).putInt(sourceBytes.length).put(sourceBytes);
+
+        int offset = 0;
+        for(final byte[] key : keys) {
+            buffer.putInt(offset);
+            offset += key.length;
+        }
+        buffer.putInt(offset);
+
+        for(final byte[] key : keys) {
+            buffer.put(key);
+        }
+
+        return new QueryKeys(buffer);
+    }
+
+    /**
+     * Memory-maps a file of keys previously written by {@link #write(File)}
+     *
+     * @param file The file to map
+     * @return The list of keys, backed by the file
+     * @throws IOException If the file could not be mapped
+     */
+    public static QueryKeys load(final File file) throws IOException {
+        final RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            // The mapping remains valid after the file is closed
+            return new QueryKeys(input.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, input.length()));
+        } finally {
+            IOUtils.closeQuietly(input);
+        }
+    }
+
+    /**
+     * Writes the keys to a file that can later be loaded by {@link #load(File)}
+     *
+     * @param file The file to write, replaced if it exists
+     * @throws IOException If the file could not be written
+     */
+    public void write(final File file) throws IOException {
+        final FileOutputStream output = new FileOutputStream(file);
+        try {
+            final ByteBuffer contents = buffer.duplicate();
+            contents.clear();
+
+            final FileChannel channel = output.getChannel();
+            while( contents.hasRemaining() ) {
+                channel.write(contents);
+            }
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * @return The name of the source the keys were generated from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return The number of keys
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Copies one of the keys
+     *
+     * @param index The position of the key in the list
+     * @return The key
+     */
+    public byte[] get(final int index) {
+        checkElementIndex(index, count);
+
+        final int start = buffer.getInt(offsetStart + index * 4);
+        final byte[] key = new byte[buffer.getInt(offsetStart + (index + 1) * 4) - start];
+
+        // Read through a view of the buffer, since its position is shared between threads
+        final ByteBuffer view = buffer.duplicate();
+        view.position(dataStart + start);
+        view.get(key);
+
+        return key;
+    }
+}
@@ -5,12 +5,22 @@ import com.nearinfinity.honeycomb.hbase.rowkey.DataRowKey;
 import com.nearinfinity.honeycomb.mysql.Row;
 import config.ConfigConstants;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.hadoop.hbase.HColumnDescriptor;
 import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.client.HTableInterface;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.io.encoding.DataBlockEncoding;
+import org.apache.hadoop.hbase.io.hfile.Compression.Algorithm;
+import org.apache.hadoop.hbase.regionserver.StoreFile.BloomType;
 import org.apache.hadoop.hbase.util.Pair;
 import org.apache.log4j.Logger;
+import util.memory.InMemoryTable;
+import util.sizes.SizeDistribution;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Random;
 import java.util.UUID;
 
@@ -21,14 +31,35 @@ import static java.lang.String.format;
  */
 public abstract class Utils {
     public static final Random RANDOM = new Random();
+    private static final ThreadLocal<FastRandom> THREAD_RANDOM = new ThreadLocal<FastRandom>() {
+        @Override
+        protected FastRandom initialValue() {
+            return new FastRandom(System.nanoTime() ^ Thread.currentThread().getId());
+        }
+    };
     private static final Logger log = Logger.getLogger(Utils.class);
     private static final int MILLIS_PER_SECOND = 1000;
 
+    /**
+     * The encoded column family and qualifier, shared by every operation
+     */
+    public static final byte[] COLUMN_FAMILY_BYTES = ConfigConstants.COLUMN_FAMILY.getBytes(Charsets.UTF_8);
+    public static final byte[] COLUMN_QUAL_BYTES = ConfigConstants.COLUMN_QUAL.getBytes(Charsets.UTF_8);
+
 
     private Utils() {
 
     }
 
+    /**
+     * Fetches the non-locking random number generator owned by the current thread
+     *
+     * @return The random number generator, which must not be passed to other threads
+     */
+    public static FastRandom threadRandom() {
+        return THREAD_RANDOM.get();
+    }
+
     /**
      * Generates a hex string representation of the provided byte array
      *
@@ -67,37 +98,132 @@ public abstract class Utils {
         System.out.println("Variance: " + stats.getVariance());
     }
 
+    /**
+     * Displays the formatted percentiles for the specified latency histogram
+     *
+     * @param histogram The latency histogram to display
+     * @param banner    The display banner used to indicate what latency is being presented
+     */
+    public static void displayStatistics(final LatencyHistogram histogram, final String banner) {
+        System.out.println("\n*************************");
+        System.out.println(String.format("%s Statistics", banner));
+        System.out.println("Units: microseconds");
+        System.out.println("**************************");
+        System.out.println("Total samples: " + histogram.getCount());
+        System.out.println("Min: " + histogram.getMin());
+        System.out.println("Mean: " + histogram.getMean());
+        System.out.println("50th Percentile: " + histogram.getPercentile(50));
+        System.out.println("90th Percentile: " + histogram.getPercentile(90));
+        System.out.println("99th Percentile: " + histogram.getPercentile(99));
+        System.out.println("99.9th Percentile: " + histogram.getPercentile(99.9));
+        System.out.println("Max: " + histogram.getMax());
+    }
+
     public static double convertMillisToSeconds(final double millis) {
         return millis / MILLIS_PER_SECOND;
     }
 
+    /**
+     * Opens a new connection to the same table as the provided connection, for use by
+     * another thread
+     *
+     * @param table The connection whose table should be opened
+     * @return The new connection
+     * @throws IOException If the table could not be opened
+     */
+    public static HTableInterface newTableConnection(final HTableInterface table) throws IOException {
+        if( table instanceof InMemoryTable ) {
+            return ((InMemoryTable) table).newConnection();
+        }
+
+        final HTableInterface connection = new HTable(table.getConfiguration(), table.getTableName());
+        connection.setAutoFlush(table.isAutoFlush());
+
+        return connection;
+    }
+
+    /**
+     * Creates the descriptor of the column family holding the rows of the tool table, so
+     * that the table and the files bulk loaded into it are stored with the same settings
+     *
+     * @return The column family descriptor
+     */
+    public static HColumnDescriptor createColumnDescriptor() {
+        final HColumnDescriptor colDesc = new HColumnDescriptor(ConfigConstants.COLUMN_FAMILY);
+        colDesc.setBlockCacheEnabled(true).setBlocksize(65536)
+                .setBloomFilterType(BloomType.ROW)
+                .setCompressionType(Algorithm.SNAPPY)
+                .setDataBlockEncoding(DataBlockEncoding.PREFIX)
+                .setMaxVersions(1);
+
+        return colDesc;
+    }
+
     public static Get createGet(final byte[] rowkey) {
         return new Get(rowkey)
-                .addColumn(ConfigConstants.COLUMN_FAMILY.getBytes(Charsets.UTF_8),
-                        ConfigConstants.COLUMN_QUAL.getBytes(Charsets.UTF_8));
+                .addColumn(COLUMN_FAMILY_BYTES, COLUMN_QUAL_BYTES);
     }
 
     public static Put createPut(final byte[] rowKey, final byte[] value) {
         return new Put(rowKey)
-                .add(ConfigConstants.COLUMN_FAMILY.getBytes(Charsets.UTF_8),
-                        ConfigConstants.COLUMN_QUAL.getBytes(Charsets.UTF_8),
-                        value);
+                .add(COLUMN_FAMILY_BYTES, COLUMN_QUAL_BYTES, value);
     }
 
     public static Scan createScan(final byte[] startRowKey, final byte[] stopRowKey) {
         return new Scan(startRowKey, stopRowKey)
-                .addColumn(ConfigConstants.COLUMN_FAMILY.getBytes(Charsets.UTF_8),
-                        ConfigConstants.COLUMN_QUAL.getBytes(Charsets.UTF_8));
+                .addColumn(COLUMN_FAMILY_BYTES, COLUMN_QUAL_BYTES);
     }
 
     public static Scan createScan(final byte[] startRowKey) {
         return new Scan(startRowKey);
     }
 
+    /**
+     * Generates a serialized row value, taken from the payload pool when one has been built
+     *
+     * @return The serialized row value, which must not be modified
+     */
     public static byte[] generateRowValue() {
+        final PayloadPool pool = DataProvider.PAYLOAD_POOL;
+        if( pool != null ) {
+            return pool.nextValue(threadRandom());
+        }
+
+        final SizeDistribution sizes = DataProvider.ROW_SIZES;
+        if( sizes != null ) {
+            final FastRandom random = threadRandom();
+            return generateRowValue(sizes.size(random.nextDouble()), random);
+        }
+
         return new Row(DataProvider.COL_DATA, UUID.randomUUID()).serialize();
     }
 
+    /**
+     * Generates a row value of random bytes with the specified length
+     *
+     * @param length The length of the value in bytes
+     * @param random The random number generator owned by the calling thread
+     * @return The row value
+     */
+    public static byte[] generateRowValue(final int length, final FastRandom random) {
+        final byte[] value = new byte[length];
+        random.nextBytes(value);
+
+        return value;
+    }
+
+    /**
+     * Generates a newly serialized Honeycomb row value with a unique {@link UUID} and a
+     * randomly chosen value of the indexed column, for tests that require every written
+     * row to be distinct
+     *
+     * @param random The random number generator owned by the calling thread
+     * @return The serialized row value
+     */
+    public static byte[] generateUniqueRowValue(final FastRandom random) {
+        return new Row(DataProvider.hcRowData(random), UUID.randomUUID()).serialize();
+    }
+
 
     /**
      * Generates the start and stop rowkeys for a {@link Scan} range by computing a
@@ -117,7 +243,46 @@ public abstract class Utils {
     }
 
     public static byte[] generateRowKey(final long tableId) {
-        return new DataRowKey(tableId, DataProvider.ROW_UUID).encode();
+        final PayloadPool pool = DataProvider.PAYLOAD_POOL;
+        if( pool != null ) {
+            return pool.rowKey(tableId);
+        }
+
+        return encodeRowKey(tableId);
+    }
+
+    /**
+     * Encodes the rowkey of a row, padding it to the length chosen for the row by the key
+     * size distribution.  The length is derived from the identifier of the row, so the
+     * same key is generated every time and keys keep the order of their identifiers.
+     * Keys are never shorter than the encoded {@link DataRowKey}.
+     *
+     * @param tableId The identifier of the row
+     * @return The encoded rowkey
+     */
+    public static byte[] encodeRowKey(final long tableId) {
+        final byte[] encoded = new DataRowKey(tableId, DataProvider.ROW_UUID).encode();
+
+        final SizeDistribution sizes = DataProvider.KEY_SIZES;
+        if( sizes == null ) {
+            return encoded;
+        }
+
+        final int length = sizes.size(keyQuantile(tableId));
+        return length > encoded.length ? Arrays.copyOf(encoded, length) : encoded;
+    }
+
+    /**
+     * Scrambles the identifier of a row into a quantile, so that neighbouring rows
+     * receive unrelated key sizes
+     */
+    private static double keyQuantile(final long tableId) {
+        long hash = tableId + 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash ^= hash >>> 31;
+
+        return (hash >>> 11) * 0x1.0p-53;
     }
 
 }
@@ -0,0 +1,41 @@
+package util;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the helper threads that perform work on behalf of a test, such as the pools
+ * issuing concurrent requests or generating data, with names that mark them as worker
+ * threads so that their CPU use is attributed to the test by the client resource monitor.
+ */
+public final class WorkerThreadFactory implements ThreadFactory {
+    /**
+     * The marker contained in the name of every thread created by a factory
+     */
+    public static final String THREAD_NAME_MARKER = "Worker Thread";
+
+    private final String owner;
+    private final boolean daemon;
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    /**
+     *
+     *
+     * @param ownerName The name of the component the threads work for, used as the prefix of their names
+     * @param daemonThreads True if the threads must not keep the JVM alive
+     */
+    public WorkerThreadFactory(final String ownerName, final boolean daemonThreads) {
+        owner = ownerName;
+        daemon = daemonThreads;
+    }
+
+    @Override
+    public Thread newThread(final Runnable task) {
+        final Thread thread = new Thread(task, format("%s %s %d", owner, THREAD_NAME_MARKER, threadCount.incrementAndGet()));
+        thread.setDaemon(daemon);
+
+        return thread;
+    }
+}
@@ -0,0 +1,42 @@
+package util.keys;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import util.FastRandom;
+
+/**
+ * Chooses keys such that a fixed fraction of the operations access a hot set made up of
+ * a fixed fraction of the keys at the beginning of the keyspace, with keys chosen
+ * uniformly within the hot and cold sets
+ */
+public final class HotspotKeyChooser implements KeyChooser {
+    private final long itemCount;
+    private final long hotCount;
+    private final double hotOpFraction;
+
+    /**
+     *
+     *
+     * @param items The number of keys in the keyspace, positive
+     * @param opFraction The fraction of operations accessing the hot set, in the range [0, 1]
+     * @param keyFraction The fraction of keys in the hot set, in the range (0, 1]
+     */
+    public HotspotKeyChooser(final long items, final double opFraction, final double keyFraction) {
+        checkArgument(items > 0, "The keyspace must contain at least one key");
+        checkArgument(opFraction >= 0 && opFraction <= 1, "The hot operation fraction must be in the range [0, 1]");
+        checkArgument(keyFraction > 0 && keyFraction <= 1, "The hot key fraction must be in the range (0, 1]");
+
+        itemCount = items;
+        hotCount = Math.max(1L, (long) (items * keyFraction));
+        hotOpFraction = opFraction;
+    }
+
+    @Override
+    public long nextKey(final FastRandom random) {
+        if( hotCount == itemCount || random.nextDouble() < hotOpFraction ) {
+            return random.nextLong(hotCount);
+        }
+
+        return hotCount + random.nextLong(itemCount - hotCount);
+    }
+}
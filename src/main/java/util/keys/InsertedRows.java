@@ -0,0 +1,62 @@
+package util.keys;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the high-water mark of the row identifiers inserted by the tests, shared by
+ * every worker thread, so that the {@link LatestKeyChooser} can follow the rows as they
+ * are written.  The rows of the configured keyspace are assumed to exist already, so the
+ * mark never falls below the size of the keyspace.  The identifiers claimed for new rows
+ * are counted separately, so a row only becomes readable once it has been recorded after
+ * reaching the table.
+ */
+public final class InsertedRows {
+    private static final AtomicLong HIGH_WATER_MARK = new AtomicLong();
+    private static final AtomicLong NEXT_CLAIM = new AtomicLong();
+
+    private InsertedRows() {
+
+    }
+
+    /**
+     * Records that a row has reached the table, advancing the high-water mark past it
+     *
+     * @param tableId The identifier of the inserted row
+     */
+    public static void record(final long tableId) {
+        final long next = tableId + 1;
+
+        long current = HIGH_WATER_MARK.get();
+        while( current < next && !HIGH_WATER_MARK.compareAndSet(current, next) ) {
+            current = HIGH_WATER_MARK.get();
+        }
+    }
+
+    /**
+     * Claims the identifier of a new row beyond every row inserted or claimed so far.  The
+     * high-water mark is left unchanged until the row is recorded.
+     *
+     * @param keyspaceRows The number of rows in the keyspace, which are never claimed
+     * @return The identifier of the new row
+     */
+    public static long claim(final long keyspaceRows) {
+        while( true ) {
+            final long current = NEXT_CLAIM.get();
+            final long claimed = Math.max(Math.max(current, HIGH_WATER_MARK.get()), keyspaceRows);
+
+            if( NEXT_CLAIM.compareAndSet(current, claimed + 1) ) {
+                return claimed;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of rows inserted so far, which may be read from any thread
+     *
+     * @param keyspaceRows The number of rows in the keyspace
+     * @return One past the highest identifier of the inserted rows, at least the keyspace size
+     */
+    public static long count(final long keyspaceRows) {
+        return Math.max(HIGH_WATER_MARK.get(), keyspaceRows);
+    }
+}
@@ -0,0 +1,22 @@
+package util.keys;
+
+import util.FastRandom;
+
+/**
+ * Any entity that selects the keys accessed by a test from a fixed-size keyspace must
+ * adhere to this interface.
+ * <p>
+ * Implementations must not allocate when choosing a key and must be safe to share
+ * between worker threads; all mutable state lives in the random number generator
+ * supplied by the calling thread.
+ */
+public interface KeyChooser {
+
+    /**
+     * Chooses the next key to access
+     *
+     * @param random The random number generator owned by the calling thread
+     * @return The index of the key, in the range [0, item count)
+     */
+    public long nextKey(final FastRandom random);
+}
@@ -0,0 +1,61 @@
+package util.keys;
+
+import static java.lang.String.format;
+
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import config.Config;
+import config.ConfigConstants;
+
+/**
+ * Responsible for creating the {@link KeyChooser} selected by the application
+ * configuration.  Choosers are cached and shared between worker threads, since some of
+ * them are expensive to set up for large keyspaces.
+ */
+public abstract class KeyChoosers {
+    private static final Map<String, KeyChooser> CHOOSERS = Maps.newHashMap();
+
+    private KeyChoosers() {
+
+    }
+
+    /**
+     * Fetches the key chooser for the configured distribution, falling back to a uniform
+     * distribution when none has been specified
+     *
+     * @param appConfig The application configuration specifying the distribution, not null
+     * @param itemCount The number of keys in the keyspace, positive
+     * @return The key chooser
+     */
+    public static synchronized KeyChooser forConfig(final Config appConfig, final long itemCount) {
+        final String distribution = appConfig.isDistributionEnabled() ? appConfig.getDistribution() : ConfigConstants.ARG_DIST_UNIFORM;
+        final String chooserKey = format("%s/%d/%s/%s/%s", distribution, itemCount, appConfig.getZipfConstant(),
+                appConfig.getHotspotOpPercent(), appConfig.getHotspotKeyPercent());
+
+        KeyChooser chooser = CHOOSERS.get(chooserKey);
+        if( chooser == null ) {
+            chooser = createChooser(distribution, appConfig, itemCount);
+            CHOOSERS.put(chooserKey, chooser);
+        }
+
+        return chooser;
+    }
+
+    private static KeyChooser createChooser(final String distribution, final Config appConfig, final long itemCount) {
+        if( distribution.equals(ConfigConstants.ARG_DIST_UNIFORM) ) {
+            return new UniformKeyChooser(itemCount);
+        } else if( distribution.equals(ConfigConstants.ARG_DIST_ZIPFIAN) ) {
+            return new ZipfianKeyChooser(itemCount, appConfig.getZipfConstant());
+        } else if( distribution.equals(ConfigConstants.ARG_DIST_SCRAMBLED_ZIPFIAN) ) {
+            return new ScrambledZipfianKeyChooser(itemCount, appConfig.getZipfConstant());
+        } else if( distribution.equals(ConfigConstants.ARG_DIST_HOTSPOT) ) {
+            return new HotspotKeyChooser(itemCount, appConfig.getHotspotOpPercent() / 100, appConfig.getHotspotKeyPercent() / 100);
+        } else if( distribution.equals(ConfigConstants.ARG_DIST_LATEST) ) {
+            return new LatestKeyChooser(itemCount, appConfig.getZipfConstant());
+        }
+
+        throw new IllegalArgumentException("Unknown key distribution: " + distribution);
+    }
+}
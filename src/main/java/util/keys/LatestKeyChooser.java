@@ -0,0 +1,38 @@
+package util.keys;
+
+import util.FastRandom;
+
+/**
+ * Chooses keys with zipfian popularity skewed toward the most recently inserted rows.
+ * The distribution follows the high-water mark kept by {@link InsertedRows}, so the rows
+ * written while a test runs, by the write tests or by the puts of a mixed workload,
+ * become the most popular keys as soon as they have reached the table.  Before any row
+ * has been inserted the most popular keys are those at the end of the keyspace.
+ */
+public final class LatestKeyChooser implements KeyChooser {
+    private final long items;
+    private final ZipfianKeyChooser zipfian;
+
+    /**
+     *
+     *
+     * @param itemCount The number of keys in the keyspace, positive
+     * @param zipfConstant The skew of the distribution, in the range (0, 1)
+     */
+    public LatestKeyChooser(final long itemCount, final double zipfConstant) {
+        zipfian = new ZipfianKeyChooser(itemCount, zipfConstant);
+        items = itemCount;
+    }
+
+    /**
+     * Chooses the next key to access, counting back from the latest inserted row.  Keys
+     * may lie beyond the keyspace once rows have been inserted past its end.
+     *
+     * @param random The random number generator owned by the calling thread
+     * @return The index of the key
+     */
+    @Override
+    public long nextKey(final FastRandom random) {
+        return InsertedRows.count(items) - 1 - zipfian.nextKey(random);
+    }
+}
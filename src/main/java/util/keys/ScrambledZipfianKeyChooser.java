@@ -0,0 +1,46 @@
+package util.keys;
+
+import util.FastRandom;
+
+/**
+ * Chooses keys with zipfian popularity, but with the popular keys scattered across the
+ * keyspace by hashing instead of clustered at its beginning, so that they do not all
+ * fall into the same region
+ */
+public final class ScrambledZipfianKeyChooser implements KeyChooser {
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final long itemCount;
+    private final ZipfianKeyChooser zipfian;
+
+    /**
+     *
+     *
+     * @param items The number of keys in the keyspace, positive
+     * @param zipfConstant The skew of the distribution, in the range (0, 1)
+     */
+    public ScrambledZipfianKeyChooser(final long items, final double zipfConstant) {
+        zipfian = new ZipfianKeyChooser(items, zipfConstant);
+        itemCount = items;
+    }
+
+    @Override
+    public long nextKey(final FastRandom random) {
+        return (fnvHash(zipfian.nextKey(random)) & Long.MAX_VALUE) % itemCount;
+    }
+
+    /**
+     * Computes the 64-bit FNV-1a hash of the bytes of the value
+     */
+    private static long fnvHash(final long value) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for(int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash ^= (value >>> shift) & 0xFF;
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+}
@@ -0,0 +1,28 @@
+package util.keys;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import util.FastRandom;
+
+/**
+ * Chooses every key with the same probability
+ */
+public final class UniformKeyChooser implements KeyChooser {
+    private final long itemCount;
+
+    /**
+     *
+     *
+     * @param items The number of keys in the keyspace, positive
+     */
+    public UniformKeyChooser(final long items) {
+        checkArgument(items > 0, "The keyspace must contain at least one key");
+
+        itemCount = items;
+    }
+
+    @Override
+    public long nextKey(final FastRandom random) {
+        return random.nextLong(itemCount);
+    }
+}
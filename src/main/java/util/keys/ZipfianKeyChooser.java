@@ -0,0 +1,82 @@
+package util.keys;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import util.FastRandom;
+
+/**
+ * Chooses keys following a zipfian distribution, in which the lowest keys are the most
+ * popular and the popularity of the key with rank i is proportional to 1 / i^theta.
+ * <p>
+ * Uses the rejection-free method described by Gray et al. in "Quickly Generating
+ * Billion-Record Synthetic Databases", the same one used by YCSB.
+ */
+public final class ZipfianKeyChooser implements KeyChooser {
+    /**
+     * Number of terms of the zeta function summed exactly before the remainder is approximated
+     */
+    private static final long EXACT_ZETA_TERMS = 1000000;
+
+    private final long itemCount;
+    private final double theta;
+    private final double zetan;
+    private final double alpha;
+    private final double eta;
+    private final double secondKeyThreshold;
+
+    /**
+     *
+     *
+     * @param items The number of keys in the keyspace, positive
+     * @param zipfConstant The skew of the distribution, in the range (0, 1)
+     */
+    public ZipfianKeyChooser(final long items, final double zipfConstant) {
+        checkArgument(items > 0, "The keyspace must contain at least one key");
+        checkArgument(zipfConstant > 0 && zipfConstant < 1, "The zipfian constant must be in the range (0, 1)");
+
+        itemCount = items;
+        theta = zipfConstant;
+        zetan = zeta(items, zipfConstant);
+        alpha = 1.0 / (1.0 - theta);
+        eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta(2, theta) / zetan);
+        secondKeyThreshold = 1 + Math.pow(0.5, theta);
+    }
+
+    @Override
+    public long nextKey(final FastRandom random) {
+        final double u = random.nextDouble();
+        final double uz = u * zetan;
+
+        if( uz < 1 ) {
+            return 0;
+        }
+
+        if( uz < secondKeyThreshold ) {
+            return Math.min(1, itemCount - 1);
+        }
+
+        return Math.min((long) (itemCount * Math.pow(eta * u - eta + 1, alpha)), itemCount - 1);
+    }
+
+    /**
+     * Computes the generalized harmonic number sum(1 / i^theta) for i in [1, n], summing
+     * large keyspaces exactly only up to a bound and approximating the remainder with the
+     * Euler-Maclaurin formula
+     */
+    private static double zeta(final long n, final double theta) {
+        final long exactTerms = Math.min(n, EXACT_ZETA_TERMS);
+
+        double sum = 0;
+        for(long i = 1; i <= exactTerms; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+
+        if( n > exactTerms ) {
+            final double m = exactTerms;
+            sum += (Math.pow(n, 1 - theta) - Math.pow(m, 1 - theta)) / (1 - theta)
+                    + (Math.pow(n, -theta) - Math.pow(m, -theta)) / 2;
+        }
+
+        return sum;
+    }
+}
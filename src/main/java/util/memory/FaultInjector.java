@@ -0,0 +1,55 @@
+package util.memory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import util.FastRandom;
+import util.Utils;
+import util.sizes.SizeDistribution;
+
+/**
+ * Imitates the cost and unreliability of a remote call to a RegionServer by delaying each
+ * call by a latency drawn from a distribution and failing a fraction of the calls.  The
+ * injector holds no mutable state, so a single injector is shared by every connection.
+ */
+public final class FaultInjector {
+    private final SizeDistribution latencyMicros;
+    private final double failureProbability;
+
+    /**
+     *
+     *
+     * @param latency The distribution of the latency of each call in microseconds, or null for no latency
+     * @param failurePercent The percentage of calls that fail, between 0 and 100
+     */
+    public FaultInjector(final SizeDistribution latency, final double failurePercent) {
+        checkArgument(failurePercent >= 0 && failurePercent <= 100, "The failure percentage must be between 0 and 100");
+
+        latencyMicros = latency;
+        failureProbability = failurePercent / 100;
+    }
+
+    /**
+     * Performs the delay of one call, then fails it if it was chosen to fail
+     *
+     * @throws IOException If the call was chosen to fail
+     */
+    public void call() throws IOException {
+        final FastRandom random = Utils.threadRandom();
+
+        if( latencyMicros != null ) {
+            final int micros = latencyMicros.size(random.nextDouble());
+            if( micros > 0 ) {
+                // Sleeping would round the latency up to the scheduler tick
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+            }
+        }
+
+        if( failureProbability > 0 && random.nextDouble() < failureProbability ) {
+            throw new IOException("Injected failure of an in-memory table call");
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package util.memory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * The rows of a table held in a concurrent sorted map, shared by every connection to the
+ * table.
+ * <p>
+ * Each row is stored as an immutable {@link Result} and replaced as a whole when it is
+ * modified, so that readers never observe a partially applied mutation and concurrent
+ * mutations of a row are not lost.  Only the latest version of each column is kept, as in
+ * the tables created by this tool.
+ */
+public final class InMemoryStore {
+    private static final Result EMPTY_RESULT = new Result();
+
+    private final ConcurrentNavigableMap<byte[], Result> rows = new ConcurrentSkipListMap<byte[], Result>(Bytes.BYTES_COMPARATOR);
+
+    /**
+     * Applies the columns of a {@link Put} to its row, replacing the columns already present
+     *
+     * @param put The mutation to apply
+     */
+    public void put(final Put put) {
+        final byte[] now = Bytes.toBytes(System.currentTimeMillis());
+        final List<KeyValue> columns = Lists.newArrayList();
+        for(final List<KeyValue> family : put.getFamilyMap().values()) {
+            for(final KeyValue column : family) {
+                // Stamp the columns with the time of the write, as a RegionServer would
+                column.updateLatestStamp(now);
+                columns.add(column);
+            }
+        }
+
+        final byte[] row = put.getRow();
+        for(;;) {
+            final Result current = rows.get(row);
+            final List<KeyValue> merged = Lists.newArrayList(columns);
+
+            if( current == null ) {
+                Collections.sort(merged, KeyValue.COMPARATOR);
+                if( rows.putIfAbsent(row, new Result(merged)) == null ) {
+                    return;
+                }
+            } else {
+                for(final KeyValue existing : current.raw()) {
+                    if( !containsColumn(columns, existing) ) {
+                        merged.add(existing);
+                    }
+                }
+
+                Collections.sort(merged, KeyValue.COMPARATOR);
+                if( rows.replace(row, current, new Result(merged)) ) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the columns of a row named by a {@link Delete}, or the whole row if it names
+     * no columns
+     *
+     * @param delete The mutation to apply
+     */
+    public void delete(final Delete delete) {
+        final byte[] row = delete.getRow();
+        if( delete.isEmpty() ) {
+            rows.remove(row);
+            return;
+        }
+
+        final List<KeyValue> markers = Lists.newArrayList();
+        for(final List<KeyValue> family : delete.getFamilyMap().values()) {
+            markers.addAll(family);
+        }
+
+        for(;;) {
+            final Result current = rows.get(row);
+            if( current == null ) {
+                return;
+            }
+
+            final List<KeyValue> remaining = Lists.newArrayList();
+            for(final KeyValue existing : current.raw()) {
+                if( !isDeleted(markers, existing) ) {
+                    remaining.add(existing);
+                }
+            }
+
+            final boolean replaced = remaining.isEmpty() ? rows.remove(row, current) : rows.replace(row, current, new Result(remaining));
+            if( replaced ) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the columns of a row requested by a {@link Get}
+     *
+     * @param get The columns to read
+     * @return The columns found, which is empty if the row does not exist
+     */
+    public Result get(final Get get) {
+        return select(rows.get(get.getRow()), get.getFamilyMap());
+    }
+
+    /**
+     * Reads the last row at or before a rowkey
+     *
+     * @param row The rowkey to search from
+     * @param family The column family to read
+     * @return The columns of the family in the row found, or null if there is no such row
+     */
+    public Result getRowOrBefore(final byte[] row, final byte[] family) {
+        final Map.Entry<byte[], Result> entry = rows.floorEntry(row);
+        if( entry == null ) {
+            return null;
+        }
+
+        final NavigableMap<byte[], NavigableSet<byte[]>> families = Maps.newTreeMap(Bytes.BYTES_COMPARATOR);
+        families.put(family, null);
+
+        return select(entry.getValue(), families);
+    }
+
+    /**
+     * Lists the rows in the range of a {@link Scan}.  The rows are read lazily, so the
+     * returned view reflects the writes made while it is being read.
+     *
+     * @param scan The range of the rows to read
+     * @return The rows in the range, in rowkey order
+     */
+    public ConcurrentNavigableMap<byte[], Result> range(final Scan scan) {
+        final byte[] startRow = scan.getStartRow();
+        final byte[] stopRow = scan.getStopRow();
+
+        ConcurrentNavigableMap<byte[], Result> range = rows;
+        if( !Bytes.equals(startRow, HConstants.EMPTY_START_ROW) ) {
+            range = range.tailMap(startRow, true);
+        }
+        if( !Bytes.equals(stopRow, HConstants.EMPTY_END_ROW) ) {
+            range = range.headMap(stopRow, false);
+        }
+
+        return range;
+    }
+
+    /**
+     * Selects the requested columns of a row
+     *
+     * @param row The row, or null if it does not exist
+     * @param families The requested columns of each family, all columns of every family if empty
+     * @return The selected columns
+     */
+    Result select(final Result row, final Map<byte[], NavigableSet<byte[]>> families) {
+        if( row == null ) {
+            return EMPTY_RESULT;
+        }
+        if( families.isEmpty() ) {
+            return row;
+        }
+
+        final List<KeyValue> selected = Lists.newArrayList();
+        for(final KeyValue column : row.raw()) {
+            if( !families.containsKey(column.getFamily()) ) {
+                continue;
+            }
+
+            final NavigableSet<byte[]> qualifiers = families.get(column.getFamily());
+            if( qualifiers == null || qualifiers.isEmpty() || qualifiers.contains(column.getQualifier()) ) {
+                selected.add(column);
+            }
+        }
+
+        return selected.isEmpty() ? EMPTY_RESULT : new Result(selected);
+    }
+
+    private static boolean containsColumn(final List<KeyValue> columns, final KeyValue column) {
+        for(final KeyValue candidate : columns) {
+            if( candidate.matchingColumn(column.getFamily(), column.getQualifier()) ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isDeleted(final List<KeyValue> markers, final KeyValue column) {
+        for(final KeyValue marker : markers) {
+            if( marker.isDeleteFamily() ? marker.matchingFamily(column.getFamily())
+                    : marker.matchingColumn(column.getFamily(), column.getQualifier()) ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,445 @@
+package util.memory;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.client.Append;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.client.RowLock;
+import org.apache.hadoop.hbase.client.RowMutations;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.coprocessor.Batch;
+import org.apache.hadoop.hbase.ipc.CoprocessorProtocol;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import com.google.common.collect.Lists;
+
+import config.ConfigConstants;
+
+/**
+ * A connection to a table held in memory by an {@link InMemoryStore}, used in place of an
+ * {@link org.apache.hadoop.hbase.client.HTable} to measure how fast the tests can drive a
+ * table that costs nothing to access.
+ * <p>
+ * Every call that would be a remote call to a RegionServer is passed through the
+ * {@link FaultInjector}: each get, put, delete and batch, each flush of the write buffer
+ * and each fetch of {@link Scan#getCaching()} rows by a scanner.  As with an HTable, puts
+ * are buffered until the write buffer is full when auto flush is disabled, and a
+ * connection must not be shared between threads.  Scanner filters and batching, row
+ * locks, atomic operations and coprocessors are not supported.
+ */
+public final class InMemoryTable implements HTableInterface {
+    private static final String WRITE_BUFFER_KEY = "hbase.client.write.buffer";
+    private static final long DEFAULT_WRITE_BUFFER = 2097152;
+    private static final String SCANNER_CACHING_KEY = "hbase.client.scanner.caching";
+    private static final int DEFAULT_SCANNER_CACHING = 1;
+
+    private final InMemoryStore store;
+    private final FaultInjector faults;
+    private final Configuration config;
+    private final byte[] tableName;
+    private final List<Put> writeBuffer = Lists.newArrayList();
+
+    private boolean autoFlush = true;
+    private long writeBufferSize;
+    private long bufferedBytes = 0;
+
+    /**
+     *
+     *
+     * @param tableStore The rows of the table, not null
+     * @param injector The faults injected into each call, not null
+     * @param conf The configuration of the client, not null
+     * @param name The name of the table, not null
+     */
+    public InMemoryTable(final InMemoryStore tableStore, final FaultInjector injector, final Configuration conf, final String name) {
+        store = checkNotNull(tableStore, "The table store is invalid");
+        faults = checkNotNull(injector, "The fault injector is invalid");
+        config = checkNotNull(conf, "The configuration is invalid");
+        tableName = Bytes.toBytes(checkNotNull(name, "The table name is invalid"));
+        writeBufferSize = config.getLong(WRITE_BUFFER_KEY, DEFAULT_WRITE_BUFFER);
+    }
+
+    /**
+     * Opens another connection to the same table, for use by another thread
+     *
+     * @return The new connection, with the same auto flush setting as this connection
+     */
+    public InMemoryTable newConnection() {
+        final InMemoryTable connection = new InMemoryTable(store, faults, config, Bytes.toString(tableName));
+        connection.setAutoFlush(autoFlush);
+
+        return connection;
+    }
+
+    @Override
+    public byte[] getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        return config;
+    }
+
+    @Override
+    public HTableDescriptor getTableDescriptor() throws IOException {
+        final HTableDescriptor descriptor = new HTableDescriptor(tableName);
+        descriptor.addFamily(new HColumnDescriptor(ConfigConstants.COLUMN_FAMILY));
+
+        return descriptor;
+    }
+
+    @Override
+    public boolean exists(final Get get) throws IOException {
+        return !get(get).isEmpty();
+    }
+
+    @Override
+    public void batch(final List<? extends Row> actions, final Object[] results) throws IOException, InterruptedException {
+        faults.call();
+
+        for(int index = 0; index < actions.size(); index++) {
+            results[index] = apply(actions.get(index));
+        }
+    }
+
+    @Override
+    public Object[] batch(final List<? extends Row> actions) throws IOException, InterruptedException {
+        final Object[] results = new Object[actions.size()];
+        batch(actions, results);
+
+        return results;
+    }
+
+    @Override
+    public <R> void batchCallback(final List<? extends Row> actions, final Object[] results, final Batch.Callback<R> callback)
+            throws IOException, InterruptedException {
+        throw new UnsupportedOperationException("Batch callbacks are not supported by an in-memory table");
+    }
+
+    @Override
+    public <R> Object[] batchCallback(final List<? extends Row> actions, final Batch.Callback<R> callback)
+            throws IOException, InterruptedException {
+        throw new UnsupportedOperationException("Batch callbacks are not supported by an in-memory table");
+    }
+
+    @Override
+    public Result get(final Get get) throws IOException {
+        faults.call();
+
+        return store.get(get);
+    }
+
+    @Override
+    public Result[] get(final List<Get> gets) throws IOException {
+        faults.call();
+
+        final Result[] results = new Result[gets.size()];
+        for(int index = 0; index < results.length; index++) {
+            results[index] = store.get(gets.get(index));
+        }
+
+        return results;
+    }
+
+    @Override
+    public Result getRowOrBefore(final byte[] row, final byte[] family) throws IOException {
+        faults.call();
+
+        return store.getRowOrBefore(row, family);
+    }
+
+    @Override
+    public ResultScanner getScanner(final Scan scan) throws IOException {
+        return new InMemoryScanner(scan);
+    }
+
+    @Override
+    public ResultScanner getScanner(final byte[] family) throws IOException {
+        return getScanner(new Scan().addFamily(family));
+    }
+
+    @Override
+    public ResultScanner getScanner(final byte[] family, final byte[] qualifier) throws IOException {
+        return getScanner(new Scan().addColumn(family, qualifier));
+    }
+
+    @Override
+    public void put(final Put put) throws IOException {
+        if( autoFlush ) {
+            faults.call();
+            store.put(put);
+            return;
+        }
+
+        writeBuffer.add(put);
+        bufferedBytes += put.heapSize();
+        if( bufferedBytes > writeBufferSize ) {
+            flushCommits();
+        }
+    }
+
+    @Override
+    public void put(final List<Put> puts) throws IOException {
+        for(final Put put : puts) {
+            writeBuffer.add(put);
+            bufferedBytes += put.heapSize();
+        }
+
+        // As with an HTable, a list of puts is sent at once when auto flush is enabled
+        if( autoFlush || bufferedBytes > writeBufferSize ) {
+            flushCommits();
+        }
+    }
+
+    @Override
+    public boolean checkAndPut(final byte[] row, final byte[] family, final byte[] qualifier, final byte[] value, final Put put) throws IOException {
+        throw new UnsupportedOperationException("Atomic operations are not supported by an in-memory table");
+    }
+
+    @Override
+    public void delete(final Delete delete) throws IOException {
+        faults.call();
+
+        store.delete(delete);
+    }
+
+    @Override
+    public void delete(final List<Delete> deletes) throws IOException {
+        faults.call();
+
+        for(final Delete delete : deletes) {
+            store.delete(delete);
+        }
+        deletes.clear();
+    }
+
+    @Override
+    public boolean checkAndDelete(final byte[] row, final byte[] family, final byte[] qualifier, final byte[] value, final Delete delete) throws IOException {
+        throw new UnsupportedOperationException("Atomic operations are not supported by an in-memory table");
+    }
+
+    @Override
+    public void mutateRow(final RowMutations rm) throws IOException {
+        throw new UnsupportedOperationException("Atomic operations are not supported by an in-memory table");
+    }
+
+    @Override
+    public Result append(final Append append) throws IOException {
+        throw new UnsupportedOperationException("Atomic operations are not supported by an in-memory table");
+    }
+
+    @Override
+    public Result increment(final Increment increment) throws IOException {
+        throw new UnsupportedOperationException("Atomic operations are not supported by an in-memory table");
+    }
+
+    @Override
+    public long incrementColumnValue(final byte[] row, final byte[] family, final byte[] qualifier, final long amount) throws IOException {
+        throw new UnsupportedOperationException("Atomic operations are not supported by an in-memory table");
+    }
+
+    @Override
+    public long incrementColumnValue(final byte[] row, final byte[] family, final byte[] qualifier, final long amount, final boolean writeToWAL)
+            throws IOException {
+        throw new UnsupportedOperationException("Atomic operations are not supported by an in-memory table");
+    }
+
+    @Override
+    public boolean isAutoFlush() {
+        return autoFlush;
+    }
+
+    @Override
+    public void flushCommits() throws IOException {
+        if( writeBuffer.isEmpty() ) {
+            return;
+        }
+
+        try {
+            faults.call();
+
+            for(final Put put : writeBuffer) {
+                store.put(put);
+            }
+        } finally {
+            // A failed flush discards the buffered puts rather than retrying them forever
+            writeBuffer.clear();
+            bufferedBytes = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushCommits();
+    }
+
+    @Override
+    public RowLock lockRow(final byte[] row) throws IOException {
+        throw new UnsupportedOperationException("Row locks are not supported by an in-memory table");
+    }
+
+    @Override
+    public void unlockRow(final RowLock rl) throws IOException {
+        throw new UnsupportedOperationException("Row locks are not supported by an in-memory table");
+    }
+
+    @Override
+    public <T extends CoprocessorProtocol> T coprocessorProxy(final Class<T> protocol, final byte[] row) {
+        throw new UnsupportedOperationException("Coprocessors are not supported by an in-memory table");
+    }
+
+    @Override
+    public <T extends CoprocessorProtocol, R> Map<byte[], R> coprocessorExec(final Class<T> protocol, final byte[] startKey, final byte[] endKey,
+            final Batch.Call<T, R> callable) throws IOException, Throwable {
+        throw new UnsupportedOperationException("Coprocessors are not supported by an in-memory table");
+    }
+
+    @Override
+    public <T extends CoprocessorProtocol, R> void coprocessorExec(final Class<T> protocol, final byte[] startKey, final byte[] endKey,
+            final Batch.Call<T, R> callable, final Batch.Callback<R> callback) throws IOException, Throwable {
+        throw new UnsupportedOperationException("Coprocessors are not supported by an in-memory table");
+    }
+
+    @Override
+    public void setAutoFlush(final boolean enabled) {
+        autoFlush = enabled;
+    }
+
+    @Override
+    public void setAutoFlush(final boolean enabled, final boolean clearBufferOnFail) {
+        autoFlush = enabled;
+    }
+
+    @Override
+    public long getWriteBufferSize() {
+        return writeBufferSize;
+    }
+
+    @Override
+    public void setWriteBufferSize(final long size) throws IOException {
+        writeBufferSize = size;
+        if( bufferedBytes > writeBufferSize ) {
+            flushCommits();
+        }
+    }
+
+    /**
+     * Applies one action of a batch
+     *
+     * @return The result of the action, empty for mutations
+     */
+    private Result apply(final Row action) {
+        if( action instanceof Get ) {
+            return store.get((Get) action);
+        } else if( action instanceof Put ) {
+            store.put((Put) action);
+        } else if( action instanceof Delete ) {
+            store.delete((Delete) action);
+        } else {
+            throw new UnsupportedOperationException("Unsupported batch action: " + action.getClass().getSimpleName());
+        }
+
+        return new Result();
+    }
+
+    /**
+     * Reads the rows of a scan in rounds of {@link Scan#getCaching()} rows, each round
+     * standing for one call to a RegionServer
+     */
+    private final class InMemoryScanner implements ResultScanner {
+        private final Iterator<Result> rows;
+        private final Map<byte[], NavigableSet<byte[]>> families;
+        private final int caching;
+        private int remainingInRound = 0;
+
+        private InMemoryScanner(final Scan scan) {
+            rows = store.range(scan).values().iterator();
+            families = scan.getFamilyMap();
+            caching = scan.getCaching() > 0 ? scan.getCaching() : config.getInt(SCANNER_CACHING_KEY, DEFAULT_SCANNER_CACHING);
+        }
+
+        @Override
+        public Result next() throws IOException {
+            if( !rows.hasNext() ) {
+                return null;
+            }
+
+            if( remainingInRound == 0 ) {
+                faults.call();
+                remainingInRound = caching;
+            }
+            remainingInRound--;
+
+            return store.select(rows.next(), families);
+        }
+
+        @Override
+        public Result[] next(final int nbRows) throws IOException {
+            final List<Result> results = Lists.newArrayListWithCapacity(nbRows);
+            for(Result result = null; results.size() < nbRows && (result = next()) != null;) {
+                results.add(result);
+            }
+
+            return results.toArray(new Result[results.size()]);
+        }
+
+        @Override
+        public void close() {
+            remainingInRound = 0;
+        }
+
+        @Override
+        public Iterator<Result> iterator() {
+            return new Iterator<Result>() {
+                private Result next;
+
+                @Override
+                public boolean hasNext() {
+                    if( next == null ) {
+                        try {
+                            next = InMemoryScanner.this.next();
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+
+                    return next != null;
+                }
+
+                @Override
+                public Result next() {
+                    if( !hasNext() ) {
+                        return null;
+                    }
+
+                    final Result result = next;
+                    next = null;
+
+                    return result;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+}
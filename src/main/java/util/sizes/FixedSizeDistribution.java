@@ -0,0 +1,26 @@
+package util.sizes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Always produces the same size
+ */
+public final class FixedSizeDistribution implements SizeDistribution {
+    private final int size;
+
+    /**
+     *
+     *
+     * @param bytes The size in bytes, not negative
+     */
+    public FixedSizeDistribution(final int bytes) {
+        checkArgument(bytes >= 0, "The size must not be negative");
+
+        size = bytes;
+    }
+
+    @Override
+    public int size(final double quantile) {
+        return size;
+    }
+}
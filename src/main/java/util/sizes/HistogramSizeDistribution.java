@@ -0,0 +1,97 @@
+package util.sizes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Maps;
+import com.google.common.io.Files;
+
+/**
+ * Produces sizes following a histogram of real sizes, such as those sampled from a
+ * production table
+ */
+public final class HistogramSizeDistribution implements SizeDistribution {
+    private final int[] sizes;
+    private final double[] cumulative;
+
+    /**
+     *
+     *
+     * @param histogram The number of occurrences of each size, not empty
+     */
+    public HistogramSizeDistribution(final SortedMap<Integer, Long> histogram) {
+        checkArgument(!histogram.isEmpty(), "The size histogram must not be empty");
+
+        long total = 0;
+        int occurringSizes = 0;
+        for(final long count : histogram.values()) {
+            total += count;
+            occurringSizes += count > 0 ? 1 : 0;
+        }
+        checkArgument(total > 0, "The size histogram must contain at least one occurrence");
+
+        sizes = new int[occurringSizes];
+        cumulative = new double[occurringSizes];
+
+        int index = 0;
+        long running = 0;
+        for(final Map.Entry<Integer, Long> entry : histogram.entrySet()) {
+            if( entry.getValue() == 0 ) {
+                continue;
+            }
+
+            running += entry.getValue();
+            sizes[index] = entry.getKey();
+            cumulative[index] = (double) running / total;
+            index++;
+        }
+    }
+
+    /**
+     * Loads a histogram from a text file with one size per line, optionally followed by a
+     * comma and the number of occurrences of that size.  Blank lines and lines starting
+     * with '#' are ignored.
+     *
+     * @param file The histogram file
+     * @return The size distribution described by the file
+     * @throws IOException If the file could not be read
+     */
+    public static HistogramSizeDistribution load(final File file) throws IOException {
+        final SortedMap<Integer, Long> histogram = Maps.newTreeMap();
+        final List<String> lines = Files.readLines(file, Charsets.UTF_8);
+
+        for(final String rawLine : lines) {
+            final String line = rawLine.trim();
+            if( line.isEmpty() || line.startsWith("#") ) {
+                continue;
+            }
+
+            final String[] fields = line.split(",");
+            final int size = Integer.parseInt(fields[0].trim());
+            final long count = fields.length > 1 ? Long.parseLong(fields[1].trim()) : 1;
+            checkArgument(size >= 0 && count >= 0, format("Invalid size histogram line in %s: %s", file, line));
+
+            final Long previous = histogram.get(size);
+            histogram.put(size, previous == null ? count : previous + count);
+        }
+
+        return new HistogramSizeDistribution(histogram);
+    }
+
+    @Override
+    public int size(final double quantile) {
+        final int index = Arrays.binarySearch(cumulative, quantile);
+
+        // An exact match is the first quantile of the following bucket
+        final int bucket = index >= 0 ? index + 1 : -index - 1;
+        return sizes[Math.min(bucket, sizes.length - 1)];
+    }
+}
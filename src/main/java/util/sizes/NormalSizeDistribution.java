@@ -0,0 +1,42 @@
+package util.sizes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+
+/**
+ * Produces normally distributed sizes centered on the middle of an inclusive range, with
+ * the range spanning six standard deviations and the rare sizes outside of it clamped to
+ * its bounds.
+ * <p>
+ * The inverse cumulative distribution is tabulated up front, since evaluating it for
+ * every generated key or value would cost more than generating the data itself.
+ */
+public final class NormalSizeDistribution implements SizeDistribution {
+    private static final int QUANTILE_STEPS = 4096;
+
+    private final int[] sizes = new int[QUANTILE_STEPS];
+
+    /**
+     *
+     *
+     * @param min The smallest size in bytes, not negative
+     * @param max The largest size in bytes, greater than the smallest
+     */
+    public NormalSizeDistribution(final int min, final int max) {
+        checkArgument(min >= 0, "The minimum size must not be negative");
+        checkArgument(max > min, "The maximum size must be greater than the minimum size");
+
+        final NormalDistribution normal = new NormalDistribution((min + max) / 2.0, (max - min) / 6.0);
+
+        for(int step = 0; step < QUANTILE_STEPS; step++) {
+            final double size = normal.inverseCumulativeProbability((step + 0.5) / QUANTILE_STEPS);
+            sizes[step] = (int) Math.max(min, Math.min(max, Math.round(size)));
+        }
+    }
+
+    @Override
+    public int size(final double quantile) {
+        return sizes[(int) (quantile * QUANTILE_STEPS)];
+    }
+}
@@ -0,0 +1,20 @@
+package util.sizes;
+
+/**
+ * Any entity that describes the distribution of the sizes of the keys or values
+ * generated by the tests must adhere to this interface.
+ * <p>
+ * Sizes are looked up by quantile so that the size of a key can be derived from its
+ * index, allowing the read tests to regenerate the keys written earlier.  Implementations
+ * must not allocate and must be safe to share between worker threads.
+ */
+public interface SizeDistribution {
+
+    /**
+     * Looks up the size found at the given quantile of the distribution
+     *
+     * @param quantile The quantile, in the range [0, 1)
+     * @return The size in bytes, not negative
+     */
+    public int size(final double quantile);
+}
@@ -0,0 +1,88 @@
+package util.sizes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.File;
+import java.io.IOException;
+
+import config.Config;
+import config.ConfigConstants;
+
+/**
+ * Responsible for creating the {@link SizeDistribution}s of the keys and values selected
+ * by the application configuration
+ */
+public abstract class SizeDistributions {
+
+    private SizeDistributions() {
+
+    }
+
+    /**
+     * Creates the distribution of the rowkey sizes, bounded by the key length option
+     *
+     * @param appConfig The application configuration specifying the distribution, not null
+     * @return The key size distribution, or null if the default encoded rowkeys should be used
+     * @throws IOException If the key size histogram could not be read
+     */
+    public static SizeDistribution forKeys(final Config appConfig) throws IOException {
+        return create(appConfig, appConfig.getMinKeyLength(), appConfig.getMaxKeyLength(), appConfig.getKeySizeFile());
+    }
+
+    /**
+     * Creates the distribution of the row value sizes, bounded by the row length option
+     *
+     * @param appConfig The application configuration specifying the distribution, not null
+     * @return The value size distribution, or null if the default serialized rows should be used
+     * @throws IOException If the row size histogram could not be read
+     */
+    public static SizeDistribution forRows(final Config appConfig) throws IOException {
+        return create(appConfig, appConfig.getMinRowLength(), appConfig.getMaxRowLength(), appConfig.getRowSizeFile());
+    }
+
+    /**
+     * Creates the distribution of the latency injected into each call by the in-memory
+     * backend, in microseconds, bounded by the memory latency option
+     *
+     * @param appConfig The application configuration specifying the distribution, not null
+     * @return The latency distribution, or null if no latency should be injected
+     */
+    public static SizeDistribution forMemoryLatency(final Config appConfig) {
+        if( appConfig.getMaxMemoryLatency() == 0 ) {
+            return null;
+        }
+
+        final String distribution = appConfig.getMemoryLatencyDistribution();
+        checkArgument(!distribution.equals(ConfigConstants.ARG_SIZE_HISTOGRAM), "The injected latency can not follow a histogram");
+
+        try {
+            return create(distribution, appConfig.getMinMemoryLatency(), appConfig.getMaxMemoryLatency(), null);
+        } catch (IOException e) {
+            // Only reading a histogram can fail
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SizeDistribution create(final Config appConfig, final int min, final int max, final String histogramFile) throws IOException {
+        if( !appConfig.isSizeDistributionEnabled() ) {
+            return null;
+        }
+
+        return create(appConfig.getSizeDistribution(), min, max, histogramFile);
+    }
+
+    private static SizeDistribution create(final String distribution, final int min, final int max, final String histogramFile) throws IOException {
+        if( distribution.equals(ConfigConstants.ARG_SIZE_FIXED) ) {
+            return new FixedSizeDistribution(max);
+        } else if( distribution.equals(ConfigConstants.ARG_SIZE_UNIFORM) ) {
+            return new UniformSizeDistribution(min, max);
+        } else if( distribution.equals(ConfigConstants.ARG_SIZE_NORMAL) ) {
+            return min == max ? new FixedSizeDistribution(max) : new NormalSizeDistribution(min, max);
+        } else if( distribution.equals(ConfigConstants.ARG_SIZE_HISTOGRAM) ) {
+            // Sizes without a histogram of their own keep the maximum length
+            return histogramFile == null ? new FixedSizeDistribution(max) : HistogramSizeDistribution.load(new File(histogramFile));
+        }
+
+        throw new IllegalArgumentException("Unknown size distribution: " + distribution);
+    }
+}
@@ -0,0 +1,30 @@
+package util.sizes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Produces every size in an inclusive range with the same probability
+ */
+public final class UniformSizeDistribution implements SizeDistribution {
+    private final int minSize;
+    private final int sizeCount;
+
+    /**
+     *
+     *
+     * @param min The smallest size in bytes, not negative
+     * @param max The largest size in bytes, not less than the smallest
+     */
+    public UniformSizeDistribution(final int min, final int max) {
+        checkArgument(min >= 0, "The minimum size must not be negative");
+        checkArgument(max >= min, "The maximum size must not be less than the minimum size");
+
+        minSize = min;
+        sizeCount = max - min + 1;
+    }
+
+    @Override
+    public int size(final double quantile) {
+        return minSize + (int) (quantile * sizeCount);
+    }
+}
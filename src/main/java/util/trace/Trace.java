@@ -0,0 +1,132 @@
+package util.trace;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * A recorded sequence of operations against a table, memory-mapped from its binary form
+ * so that a trace of any length can be replayed without being loaded into the heap.
+ * <p>
+ * The binary form is a magic number followed by one record per operation, in the order of
+ * their timestamps: the time of the operation since the start of the trace in
+ * microseconds (8 bytes), the {@link TraceOperation} (1 byte), the size of the value
+ * written by a put (4 bytes), the length of the rowkey (2 bytes) and the rowkey itself.
+ * Numbers are big-endian.  The trace is immutable, and every thread reads it through a
+ * {@link Cursor} of its own.
+ */
+public final class Trace {
+    static final int MAGIC = 0x48545231;
+    static final int MAX_KEY_LENGTH = 0xFFFF;
+    private static final int HEADER_BYTES = 4;
+
+    private final ByteBuffer buffer;
+
+    private Trace(final ByteBuffer records) {
+        checkArgument(records.limit() >= HEADER_BYTES && records.getInt(0) == MAGIC, "The file is not a trace");
+
+        buffer = records;
+    }
+
+    /**
+     * Memory-maps a trace file written by a {@link TraceWriter}
+     *
+     * @param file The trace file
+     * @return The trace, backed by the file
+     * @throws IOException If the file could not be mapped
+     */
+    public static Trace load(final File file) throws IOException {
+        final RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            // The mapping remains valid after the file is closed
+            return new Trace(input.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, input.length()));
+        } finally {
+            IOUtils.closeQuietly(input);
+        }
+    }
+
+    /**
+     * @return A cursor positioned before the first operation of the trace
+     */
+    public Cursor cursor() {
+        return new Cursor(buffer.duplicate());
+    }
+
+    /**
+     * Reads the operations of a trace in order.  The rowkey of the current operation is
+     * read only when requested, so skipping operations costs little.
+     */
+    public static final class Cursor {
+        private final ByteBuffer records;
+        private long timestampMicros;
+        private TraceOperation operation;
+        private int valueSize;
+        private int keyStart = HEADER_BYTES;
+        private int keyLength = 0;
+
+        private Cursor(final ByteBuffer view) {
+            records = view;
+        }
+
+        /**
+         * Moves to the next operation
+         *
+         * @return True if there was another operation, false at the end of the trace
+         */
+        public boolean next() {
+            records.position(keyStart + keyLength);
+            if( !records.hasRemaining() ) {
+                return false;
+            }
+
+            timestampMicros = records.getLong();
+            operation = TraceOperation.forCode(records.get());
+            valueSize = records.getInt();
+            keyLength = records.getShort() & MAX_KEY_LENGTH;
+            keyStart = records.position();
+
+            return true;
+        }
+
+        public long getTimestampMicros() {
+            return timestampMicros;
+        }
+
+        public TraceOperation getOperation() {
+            return operation;
+        }
+
+        public int getValueSize() {
+            return valueSize;
+        }
+
+        /**
+         * @return A hash of the rowkey of the current operation, equal for equal rowkeys
+         */
+        public int keyHash() {
+            int hash = 1;
+            for(int index = keyStart; index < keyStart + keyLength; index++) {
+                hash = 31 * hash + records.get(index);
+            }
+
+            return hash;
+        }
+
+        /**
+         * @return A copy of the rowkey of the current operation
+         */
+        public byte[] rowKey() {
+            final byte[] rowKey = new byte[keyLength];
+            records.position(keyStart);
+            records.get(rowKey);
+
+            return rowKey;
+        }
+    }
+}
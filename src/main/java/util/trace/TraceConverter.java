@@ -0,0 +1,101 @@
+package util.trace;
+
+import static java.lang.String.format;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.log4j.Logger;
+
+import com.google.common.base.Charsets;
+
+/**
+ * Converts the text form of a trace, such as a sampled access log exported as CSV, into
+ * the binary form replayed by the replay test.
+ * <p>
+ * Every line of the text form is <code>timestamp,operation,rowkey[,valueSize]</code>,
+ * where the timestamp is in milliseconds and may have a fractional part, the operation is
+ * one of get, put, delete or scan, and the rowkey is in the escaped form printed by the
+ * HBase shell, with non-printable bytes written as <code>\xNN</code>.  Lines must be in the
+ * order of their timestamps, which are made relative to the first line.  Blank lines and
+ * lines starting with <code>#</code> are ignored.
+ */
+public final class TraceConverter {
+    private static final Logger log = Logger.getLogger(TraceConverter.class);
+
+    private static final String COMMENT_PREFIX = "#";
+
+    private TraceConverter() {
+
+    }
+
+    public static void main(final String[] args) {
+        if( args.length != 2 ) {
+            System.err.println(format("Usage: java -cp <jarpath> %s <text trace> <binary trace>", TraceConverter.class.getName()));
+            System.exit(1);
+        }
+
+        try {
+            final long count = convert(new File(args[0]), new File(args[1]));
+            log.info(format("Converted %d operations into %s", count, args[1]));
+        } catch (IOException e) {
+            log.error("Error occurred while converting the trace", e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Converts the text form of a trace into its binary form
+     *
+     * @param textFile The text form to read
+     * @param traceFile The binary form to write, replaced if it exists
+     * @return The number of operations converted
+     * @throws IOException If either file could not be read or written
+     */
+    public static long convert(final File textFile, final File traceFile) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(textFile), Charsets.UTF_8));
+        final TraceWriter writer = new TraceWriter(traceFile);
+
+        try {
+            double firstTimestamp = Double.NaN;
+            int lineNumber = 0;
+
+            for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                line = line.trim();
+                if( line.isEmpty() || line.startsWith(COMMENT_PREFIX) ) {
+                    continue;
+                }
+
+                final String[] fields = line.split(",");
+                if( fields.length < 3 || fields.length > 4 ) {
+                    throw new IllegalArgumentException(format("Line %d does not have 3 or 4 fields: %s", lineNumber, line));
+                }
+
+                final double timestamp = Double.parseDouble(fields[0].trim());
+                if( Double.isNaN(firstTimestamp) ) {
+                    firstTimestamp = timestamp;
+                }
+
+                final long relativeMicros = Math.round((timestamp - firstTimestamp) * TimeUnit.MILLISECONDS.toMicros(1));
+                if( relativeMicros < 0 ) {
+                    throw new IllegalArgumentException(format("Line %d is earlier than the first line", lineNumber));
+                }
+
+                writer.write(relativeMicros, TraceOperation.forLabel(fields[1].trim()), Bytes.toBytesBinary(fields[2].trim()),
+                        fields.length == 4 ? Integer.parseInt(fields[3].trim()) : 0);
+            }
+
+            return writer.getCount();
+        } finally {
+            IOUtils.closeQuietly(reader);
+            writer.close();
+        }
+    }
+}
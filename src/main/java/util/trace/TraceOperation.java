@@ -0,0 +1,64 @@
+package util.trace;
+
+/**
+ * The types of operation recorded in a {@link Trace}, each stored as a single byte
+ */
+public enum TraceOperation {
+    GET("get"),
+    PUT("put"),
+    DELETE("delete"),
+    SCAN("scan");
+
+    private static final TraceOperation[] VALUES = values();
+
+    private final String label;
+
+    private TraceOperation(final String name) {
+        label = name;
+    }
+
+    /**
+     * @return The name of the operation in the text form of a trace, also used to record
+     *         its latency
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return The byte identifying the operation in the binary form of a trace
+     */
+    public byte getCode() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Finds the operation identified by a byte of the binary form of a trace
+     *
+     * @param code The byte identifying the operation
+     * @return The operation
+     */
+    public static TraceOperation forCode(final byte code) {
+        if( code < 0 || code >= VALUES.length ) {
+            throw new IllegalArgumentException("Unknown trace operation code: " + code);
+        }
+
+        return VALUES[code];
+    }
+
+    /**
+     * Finds the operation with the specified name in the text form of a trace
+     *
+     * @param name The name of the operation, in any case
+     * @return The operation
+     */
+    public static TraceOperation forLabel(final String name) {
+        for(final TraceOperation operation : VALUES) {
+            if( operation.label.equalsIgnoreCase(name) ) {
+                return operation;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown trace operation: " + name);
+    }
+}
@@ -0,0 +1,67 @@
+package util.trace;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes the binary form of a {@link Trace}, one operation at a time in the order of
+ * their timestamps
+ */
+public final class TraceWriter implements Closeable {
+    private final DataOutputStream output;
+    private long lastTimestamp = 0;
+    private long count = 0;
+
+    /**
+     *
+     *
+     * @param file The file to write, replaced if it exists
+     * @throws IOException If the file could not be created
+     */
+    public TraceWriter(final File file) throws IOException {
+        output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        output.writeInt(Trace.MAGIC);
+    }
+
+    /**
+     * Appends an operation to the trace
+     *
+     * @param timestampMicros The time of the operation since the start of the trace, in microseconds
+     * @param operation The type of the operation
+     * @param rowKey The rowkey accessed by the operation, at most {@link Trace#MAX_KEY_LENGTH} bytes
+     * @param valueSize The size of the value written by a put, in bytes, or 0
+     * @throws IOException If the operation could not be written
+     */
+    public void write(final long timestampMicros, final TraceOperation operation, final byte[] rowKey, final int valueSize) throws IOException {
+        checkArgument(timestampMicros >= lastTimestamp, "The operations of a trace must be in the order of their timestamps");
+        checkArgument(rowKey.length <= Trace.MAX_KEY_LENGTH, "The rowkey of a trace operation is too long");
+        checkArgument(valueSize >= 0, "The value size must not be negative");
+
+        output.writeLong(timestampMicros);
+        output.writeByte(operation.getCode());
+        output.writeInt(valueSize);
+        output.writeShort(rowKey.length);
+        output.write(rowKey);
+
+        lastTimestamp = timestampMicros;
+        count++;
+    }
+
+    /**
+     * @return The number of operations written
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
@@ -0,0 +1,152 @@
+package util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the bucket arithmetic, percentiles and merging of {@link LatencyHistogram}
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogramReportsZero() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean(), 0);
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for(long value = 1; value <= 100; value++) {
+            histogram.recordValue(value);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+        assertEquals(1, histogram.getPercentile(0.1));
+        assertEquals(50, histogram.getPercentile(50));
+        assertEquals(90, histogram.getPercentile(90));
+        assertEquals(99, histogram.getPercentile(99));
+        assertEquals(100, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        // Values below the sub-bucket count have a bucket each
+        assertEquals(0, LatencyHistogram.bucketIndex(0));
+        assertEquals(255, LatencyHistogram.bucketIndex(255));
+
+        // Above it, each power of two is split into half as many buckets of growing width
+        assertEquals(256, LatencyHistogram.bucketIndex(256));
+        assertEquals(256, LatencyHistogram.bucketIndex(257));
+        assertEquals(257, LatencyHistogram.bucketIndex(258));
+        assertEquals(383, LatencyHistogram.bucketIndex(511));
+        assertEquals(384, LatencyHistogram.bucketIndex(512));
+        assertEquals(384, LatencyHistogram.bucketIndex(515));
+        assertEquals(385, LatencyHistogram.bucketIndex(516));
+
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE));
+    }
+
+    @Test
+    public void testBucketIndexIsMonotonic() {
+        int previous = 0;
+        for(long value = 1; value < LatencyHistogram.MAX_VALUE; value += 1 + value / 97) {
+            final int index = LatencyHistogram.bucketIndex(value);
+
+            assertTrue("Bucket index decreased at " + value, index >= previous);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for(long value = 1; value <= 100000; value++) {
+            histogram.recordValue(value * 10);
+        }
+
+        assertWithinOnePercent(500000, histogram.getPercentile(50));
+        assertWithinOnePercent(900000, histogram.getPercentile(90));
+        assertWithinOnePercent(990000, histogram.getPercentile(99));
+        assertWithinOnePercent(999000, histogram.getPercentile(99.9));
+        assertEquals(1000000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void testValuesAreClamped() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordValue(-5);
+        histogram.recordValue(Long.MAX_VALUE);
+
+        assertEquals(0, histogram.getMin());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getMax());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void testAddMergesRecordedValues() {
+        final LatencyHistogram combined = new LatencyHistogram();
+        final LatencyHistogram first = new LatencyHistogram();
+        final LatencyHistogram second = new LatencyHistogram();
+
+        for(long value = 1; value <= 20000; value++) {
+            final long latency = value * value % 1000003;
+            combined.recordValue(latency);
+            (value % 3 == 0 ? first : second).recordValue(latency);
+        }
+
+        final LatencyHistogram merged = new LatencyHistogram();
+        merged.add(first);
+        merged.add(second);
+
+        assertEquals(combined.getCount(), merged.getCount());
+        assertEquals(combined.getMin(), merged.getMin());
+        assertEquals(combined.getMax(), merged.getMax());
+        assertEquals(combined.getMean(), merged.getMean(), 1e-9);
+        for(final double percentile : new double[] { 1, 25, 50, 75, 90, 99, 99.9, 100 }) {
+            assertEquals("Percentile " + percentile, combined.getPercentile(percentile), merged.getPercentile(percentile));
+        }
+    }
+
+    @Test
+    public void testAddingEmptyHistogramKeepsMinimum() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordValue(42);
+        histogram.add(new LatencyHistogram());
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(42, histogram.getMin());
+        assertEquals(42, histogram.getMax());
+    }
+
+    @Test
+    public void testReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordValue(1000);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroPercentileIsRejected() {
+        new LatencyHistogram().getPercentile(0);
+    }
+
+    private static void assertWithinOnePercent(final long expected, final long actual) {
+        assertTrue(String.format("Expected %d within 1%% but was %d", expected, actual), Math.abs(actual - expected) <= expected / 100);
+    }
+}
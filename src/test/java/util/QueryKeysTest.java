@@ -0,0 +1,133 @@
+package util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests building, writing and loading the compact form of {@link QueryKeys}
+ */
+public class QueryKeysTest {
+    private static final String SOURCE = "toolTable=hhbench, sqlTable=foo/bar, index=idxName";
+    private static final byte[][] KEYS = {
+            { 1, 2, 3 },
+            {},
+            { (byte) 0xFF },
+            new byte[1000],
+            { 0, 0 }
+    };
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testOf() {
+        assertKeys(QueryKeys.of(SOURCE, KEYS));
+    }
+
+    @Test
+    public void testNoKeys() throws IOException {
+        final File file = folder.newFile("none.keys");
+        QueryKeys.of("", new byte[0][]).write(file);
+
+        assertEquals(0, QueryKeys.load(file).size());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final File file = folder.newFile("roundtrip.keys");
+        QueryKeys.of(SOURCE, KEYS).write(file);
+
+        assertEquals(12 + SOURCE.length() + (KEYS.length + 1) * 4 + 1006, file.length());
+        assertKeys(QueryKeys.load(file));
+    }
+
+    @Test
+    public void testLoadedKeysCanBeWrittenAgain() throws IOException {
+        final File first = folder.newFile("first.keys");
+        final File second = folder.newFile("second.keys");
+        QueryKeys.of(SOURCE, KEYS).write(first);
+        QueryKeys.load(first).write(second);
+
+        assertKeys(QueryKeys.load(second));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadRejectsBadMagic() throws IOException {
+        final File file = folder.newFile("bad.keys");
+        final FileOutputStream output = new FileOutputStream(file);
+        try {
+            output.write(new byte[] { 'n', 'o', 'p', 'e', 0, 0, 0, 0, 0, 0, 0, 0 });
+        } finally {
+            output.close();
+        }
+
+        QueryKeys.load(file);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadRejectsEmptyFile() throws IOException {
+        QueryKeys.load(folder.newFile("empty.keys"));
+    }
+
+    @Test
+    public void testSourceWithMultiByteCharacters() {
+        final QueryKeys keys = QueryKeys.of("sqlTable=caf\u00e9", KEYS);
+
+        assertEquals("sqlTable=caf\u00e9", keys.getSource());
+        assertArrayEquals(KEYS[0], keys.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadRejectsTruncatedKeys() throws IOException {
+        final File file = folder.newFile("truncated.keys");
+        QueryKeys.of(SOURCE, KEYS).write(file);
+        truncate(file, file.length() - 1);
+
+        QueryKeys.load(file);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadRejectsTruncatedOffsets() throws IOException {
+        final File file = folder.newFile("offsets.keys");
+        QueryKeys.of(SOURCE, KEYS).write(file);
+        truncate(file, 12 + SOURCE.length() + 8);
+
+        QueryKeys.load(file);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetRejectsNegativeIndex() {
+        QueryKeys.of(SOURCE, KEYS).get(-1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetRejectsIndexPastEnd() {
+        QueryKeys.of(SOURCE, KEYS).get(KEYS.length);
+    }
+
+    private static void truncate(final File file, final long length) throws IOException {
+        final RandomAccessFile output = new RandomAccessFile(file, "rw");
+        try {
+            output.setLength(length);
+        } finally {
+            output.close();
+        }
+    }
+
+    private static void assertKeys(final QueryKeys keys) {
+        assertEquals(SOURCE, keys.getSource());
+        assertEquals(KEYS.length, keys.size());
+        for(int i = 0; i < KEYS.length; i++) {
+            assertArrayEquals("Key " + i, KEYS[i], keys.get(i));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package util.trace;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.io.Files;
+
+/**
+ * Tests the conversion of the text form of a trace into its binary form
+ */
+public class TraceConverterTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testConvert() throws IOException {
+        final Trace.Cursor cursor = convert(
+                "# timestamp,operation,rowkey,valueSize",
+                "",
+                "1000.5,get,row1",
+                "  1001 , PUT , row\\x00\\xFF , 512  ",
+                "   ",
+                "1001.002,Delete,row1,0",
+                "1250,scan,,0");
+
+        assertTrue(cursor.next());
+        assertEquals(0, cursor.getTimestampMicros());
+        assertEquals(TraceOperation.GET, cursor.getOperation());
+        assertEquals(0, cursor.getValueSize());
+        assertArrayEquals("row1".getBytes(Charsets.UTF_8), cursor.rowKey());
+
+        assertTrue(cursor.next());
+        assertEquals(500, cursor.getTimestampMicros());
+        assertEquals(TraceOperation.PUT, cursor.getOperation());
+        assertEquals(512, cursor.getValueSize());
+        assertArrayEquals(new byte[] { 'r', 'o', 'w', 0, (byte) 0xFF }, cursor.rowKey());
+
+        assertTrue(cursor.next());
+        assertEquals(502, cursor.getTimestampMicros());
+        assertEquals(TraceOperation.DELETE, cursor.getOperation());
+
+        assertTrue(cursor.next());
+        assertEquals(249500, cursor.getTimestampMicros());
+        assertEquals(TraceOperation.SCAN, cursor.getOperation());
+        assertArrayEquals(new byte[0], cursor.rowKey());
+
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testConvertReturnsOperationCount() throws IOException {
+        final File text = write("0,get,a", "# comment", "1,get,b", "2,put,c,10");
+
+        assertEquals(3, TraceConverter.convert(text, folder.newFile("count.trace")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvertRejectsMissingFields() throws IOException {
+        convert("0,get");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvertRejectsExtraFields() throws IOException {
+        convert("0,put,row,10,extra");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvertRejectsUnknownOperation() throws IOException {
+        convert("0,increment,row");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvertRejectsLinesBeforeTheFirst() throws IOException {
+        convert("100,get,a", "99,get,b");
+    }
+
+    private File write(final String... lines) throws IOException {
+        final File text = folder.newFile();
+        Files.write(Joiner.on('\n').join(lines), text, Charsets.UTF_8);
+
+        return text;
+    }
+
+    private Trace.Cursor convert(final String... lines) throws IOException {
+        final File trace = folder.newFile();
+        TraceConverter.convert(write(lines), trace);
+
+        return Trace.load(trace).cursor();
+    }
+}
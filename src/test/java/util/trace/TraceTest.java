@@ -0,0 +1,153 @@
+package util.trace;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests writing a trace with {@link TraceWriter} and reading it back with {@link Trace}
+ */
+public class TraceTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final byte[] longestKey = new byte[Trace.MAX_KEY_LENGTH];
+        Arrays.fill(longestKey, (byte) 0xFF);
+
+        final File file = folder.newFile("roundtrip.trace");
+        final TraceWriter writer = new TraceWriter(file);
+        try {
+            writer.write(0, TraceOperation.GET, new byte[] { 1, 2, 3 }, 0);
+            writer.write(0, TraceOperation.PUT, new byte[] { 1, 2, 3 }, 1000);
+            writer.write(1500, TraceOperation.DELETE, new byte[0], 0);
+            writer.write(Long.MAX_VALUE / 2, TraceOperation.SCAN, longestKey, Integer.MAX_VALUE);
+
+            assertEquals(4, writer.getCount());
+        } finally {
+            writer.close();
+        }
+
+        final Trace.Cursor cursor = Trace.load(file).cursor();
+
+        assertTrue(cursor.next());
+        assertEquals(0, cursor.getTimestampMicros());
+        assertEquals(TraceOperation.GET, cursor.getOperation());
+        assertEquals(0, cursor.getValueSize());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, cursor.rowKey());
+        final int firstHash = cursor.keyHash();
+
+        assertTrue(cursor.next());
+        assertEquals(0, cursor.getTimestampMicros());
+        assertEquals(TraceOperation.PUT, cursor.getOperation());
+        assertEquals(1000, cursor.getValueSize());
+        assertEquals(firstHash, cursor.keyHash());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, cursor.rowKey());
+
+        assertTrue(cursor.next());
+        assertEquals(1500, cursor.getTimestampMicros());
+        assertEquals(TraceOperation.DELETE, cursor.getOperation());
+        assertArrayEquals(new byte[0], cursor.rowKey());
+
+        // The key length is stored in two bytes and must be read back unsigned
+        assertTrue(cursor.next());
+        assertEquals(Long.MAX_VALUE / 2, cursor.getTimestampMicros());
+        assertEquals(TraceOperation.SCAN, cursor.getOperation());
+        assertEquals(Integer.MAX_VALUE, cursor.getValueSize());
+        assertArrayEquals(longestKey, cursor.rowKey());
+
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testCursorsAreIndependent() throws IOException {
+        final File file = folder.newFile("cursors.trace");
+        final TraceWriter writer = new TraceWriter(file);
+        try {
+            writer.write(10, TraceOperation.GET, new byte[] { 7 }, 0);
+        } finally {
+            writer.close();
+        }
+
+        final Trace trace = Trace.load(file);
+        final Trace.Cursor first = trace.cursor();
+        assertTrue(first.next());
+        assertFalse(first.next());
+
+        final Trace.Cursor second = trace.cursor();
+        assertTrue(second.next());
+        assertEquals(10, second.getTimestampMicros());
+    }
+
+    @Test
+    public void testEmptyTrace() throws IOException {
+        final File file = folder.newFile("empty.trace");
+        new TraceWriter(file).close();
+
+        assertFalse(Trace.load(file).cursor().next());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadRejectsBadMagic() throws IOException {
+        final File file = folder.newFile("bad.trace");
+        final FileOutputStream output = new FileOutputStream(file);
+        try {
+            output.write(new byte[] { 'n', 'o', 'p', 'e', 0, 0, 0, 0 });
+        } finally {
+            output.close();
+        }
+
+        Trace.load(file);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadRejectsEmptyFile() throws IOException {
+        Trace.load(folder.newFile("nothing.trace"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriterRejectsOutOfOrderTimestamps() throws IOException {
+        final TraceWriter writer = new TraceWriter(folder.newFile("order.trace"));
+        try {
+            writer.write(100, TraceOperation.GET, new byte[] { 1 }, 0);
+            writer.write(99, TraceOperation.GET, new byte[] { 1 }, 0);
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriterRejectsLongKeys() throws IOException {
+        final TraceWriter writer = new TraceWriter(folder.newFile("long.trace"));
+        try {
+            writer.write(0, TraceOperation.GET, new byte[Trace.MAX_KEY_LENGTH + 1], 0);
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testOperationCodesAndLabels() {
+        for(final TraceOperation operation : TraceOperation.values()) {
+            assertEquals(operation, TraceOperation.forCode(operation.getCode()));
+            assertEquals(operation, TraceOperation.forLabel(operation.getLabel().toUpperCase()));
+            assertEquals(operation, TraceOperation.forLabel(operation.getLabel().toLowerCase()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownOperationCode() {
+        TraceOperation.forCode((byte) TraceOperation.values().length);
+    }
+}